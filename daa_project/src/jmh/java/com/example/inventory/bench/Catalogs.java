@@ -0,0 +1,32 @@
+package com.example.inventory.bench;
+
+import com.example.inventory.data.DemandDistribution;
+import com.example.inventory.data.ItemDataGenerator;
+import com.example.inventory.model.Item;
+import com.example.inventory.store.ColumnarInventoryStore;
+
+import java.util.List;
+
+/**
+ * Deterministic synthetic catalogs shared by the benchmarks, so every fork
+ * measures the same data.
+ */
+final class Catalogs {
+    private Catalogs() {}
+
+    static final long SEED = 42L;
+
+    static List<Item> items(int catalogSize, int historyDays) {
+        return ItemDataGenerator.generate(SEED, catalogSize, historyDays, DemandDistribution.UNIFORM);
+    }
+
+    /**
+     * The same catalog in a columnar store, generated straight into it so the
+     * items are never all live as objects alongside the columns.
+     */
+    static ColumnarInventoryStore columnar(int catalogSize, int historyDays) {
+        ColumnarInventoryStore store = new ColumnarInventoryStore(catalogSize, historyDays);
+        ItemDataGenerator.generate(SEED, catalogSize, historyDays, DemandDistribution.UNIFORM, store::addItem);
+        return store;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.inventory.bench;
+
+import com.example.inventory.core.Forecasting;
+import com.example.inventory.model.HistoryView;
+import com.example.inventory.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forecasting primitives applied across a whole catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ForecastingBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int catalogSize;
+
+    @Param({"30", "90"})
+    public int historyDays;
+
+    private HistoryView[] histories;
+
+    @Setup
+    public void setUp() {
+        List<Item> items = Catalogs.items(catalogSize, historyDays);
+        histories = new HistoryView[items.size()];
+        for (int i = 0; i < histories.length; i++) {
+            histories[i] = items.get(i).getDailySalesHistory();
+        }
+    }
+
+    @Benchmark
+    public void simpleMovingAverage(Blackhole bh) {
+        for (HistoryView history : histories) {
+            bh.consume(Forecasting.simpleMovingAverage(history, 7));
+        }
+    }
+
+    @Benchmark
+    public void exponentialSmoothing(Blackhole bh) {
+        for (HistoryView history : histories) {
+            bh.consume(Forecasting.exponentialSmoothing(history, 0.4));
+        }
+    }
+
+    @Benchmark
+    public void stdDev(Blackhole bh) {
+        for (HistoryView history : histories) {
+            bh.consume(Forecasting.stdDev(history));
+        }
+    }
+}
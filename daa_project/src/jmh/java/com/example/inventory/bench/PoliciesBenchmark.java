@@ -0,0 +1,82 @@
+package com.example.inventory.bench;
+
+import com.example.inventory.core.Policies;
+import com.example.inventory.model.Item;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EOQ, safety stock and reorder point formulas over a catalog's worth of inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class PoliciesBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int catalogSize;
+
+    @Param({"30", "90"})
+    public int historyDays;
+
+    private double[] forecast;
+    private double[] stdDev;
+    private int[] leadTime;
+    private double[] orderingCost;
+    private double[] dailyHoldingCost;
+
+    @Setup
+    public void setUp() {
+        List<Item> items = Catalogs.items(catalogSize, historyDays);
+        int n = items.size();
+        forecast = new double[n];
+        stdDev = new double[n];
+        leadTime = new int[n];
+        orderingCost = new double[n];
+        dailyHoldingCost = new double[n];
+        for (int i = 0; i < n; i++) {
+            Item item = items.get(i);
+            forecast[i] = item.getDemandMean();
+            stdDev[i] = item.getDemandStdDev();
+            leadTime[i] = item.getLeadTime();
+            orderingCost[i] = item.getOrderingCost();
+            dailyHoldingCost[i] = item.getAnnualHoldingCost() / 365.0;
+        }
+    }
+
+    @Benchmark
+    public void computeEOQ(Blackhole bh) {
+        for (int i = 0; i < forecast.length; i++) {
+            bh.consume(Policies.computeEOQ(forecast[i] * 365.0, orderingCost[i], dailyHoldingCost[i]));
+        }
+    }
+
+    @Benchmark
+    public void computeSafetyStock(Blackhole bh) {
+        for (int i = 0; i < stdDev.length; i++) {
+            bh.consume(Policies.computeSafetyStock(stdDev[i], 1.65, leadTime[i]));
+        }
+    }
+
+    @Benchmark
+    public void computeReorderPoint(Blackhole bh) {
+        for (int i = 0; i < forecast.length; i++) {
+            bh.consume(Policies.computeReorderPoint(forecast[i], leadTime[i], 10));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.inventory.bench;
+
+import com.example.inventory.core.InventoryManager;
+import com.example.inventory.core.PolicyConfig;
+import com.example.inventory.model.Item;
+import com.example.inventory.util.InventoryReports;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weekly/monthly reports and low stock alerts. Decisions are computed once in
+ * setup so only report generation is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class ReportsBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int catalogSize;
+
+    @Param({"30", "90"})
+    public int historyDays;
+
+    private List<Item> items;
+    private List<InventoryManager.ReplenishmentDecision> decisions;
+
+    @Setup
+    public void setUp() {
+        items = Catalogs.items(catalogSize, historyDays);
+        decisions = new InventoryManager(PolicyConfig.defaultConfig()).processDailyUpdate(items);
+    }
+
+    @Benchmark
+    public String weeklyReport() {
+        return InventoryReports.generateWeeklyReport(items, decisions);
+    }
+
+    @Benchmark
+    public String monthlyReport() {
+        return InventoryReports.generateMonthlyReport(items);
+    }
+
+    @Benchmark
+    public List<String> lowStockAlerts() {
+        return InventoryReports.generateLowStockAlerts(items);
+    }
+}
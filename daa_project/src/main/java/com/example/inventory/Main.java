@@ -1,15 +1,27 @@
 package com.example.inventory;
 
+import com.example.inventory.core.DecisionCache;
+import com.example.inventory.core.ForecastBacktest;
+import com.example.inventory.core.Forecasting;
 import com.example.inventory.core.InventoryManager;
+import com.example.inventory.core.InventorySimulation;
 import com.example.inventory.core.PolicyConfig;
+import com.example.inventory.core.PolicyEvaluation;
+import com.example.inventory.data.DemandDistribution;
 import com.example.inventory.data.ItemDataGenerator;
 import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryJournal;
 import com.example.inventory.store.InventoryStore;
-import com.example.inventory.util.InventoryReports;
+import com.example.inventory.util.ReportWriter;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Main application implementing the Smart Inventory Manager
@@ -25,12 +37,33 @@ import java.util.Scanner;
 public class Main {
     private static InventoryStore store;
     private static InventoryManager manager;
+    private static DecisionCache decisionCache;
+    private static InventoryJournal journal;
+    // Reports and alerts stream to stdout without building strings; flushed after each use
+    private static final ReportWriter console = ReportWriter.forStream(System.out);
     
     public static void main(String[] args) {
         // Check if GUI mode is requested (default) or CLI mode
         boolean useGUI = true;
-        if (args.length > 0 && args[0].equals("--cli")) {
-            useGUI = false;
+        Path journalPath = null;
+        Path forecastConfigPath = null;
+        int itemCount = 0; // 0 = the 50 sample items
+        long seed = System.nanoTime();
+        for (String arg : args) {
+            if (arg.equals("--cli")) {
+                useGUI = false;
+            } else if (arg.startsWith("--journal=")) {
+                // CLI only: persist mutations and restore them on the next start
+                journalPath = Paths.get(arg.substring("--journal=".length()));
+            } else if (arg.startsWith("--items=")) {
+                // CLI only: synthetic catalog of this size instead of the sample items
+                itemCount = Integer.parseInt(arg.substring("--items=".length()));
+            } else if (arg.startsWith("--forecast-config=")) {
+                // CLI only: per-item forecasting configs written by the backtest
+                forecastConfigPath = Paths.get(arg.substring("--forecast-config=".length()));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            }
         }
         
         if (useGUI) {
@@ -42,27 +75,64 @@ public class Main {
                     e.printStackTrace();
                     System.err.println("Error starting GUI: " + e.getMessage());
                     System.out.println("Falling back to CLI mode...");
-                    runCLI();
+                    runCLI(null, null, 0, System.nanoTime());
                 }
             });
         } else {
-            runCLI();
+            runCLI(journalPath, forecastConfigPath, itemCount, seed);
         }
     }
     
-    private static void runCLI() {
+    private static void runCLI(Path journalPath, Path forecastConfigPath, int itemCount, long seed) {
         // Initialize system
         PolicyConfig config = PolicyConfig.defaultConfig();
-        manager = new InventoryManager(config);
+        manager = new InventoryManager(config, ForkJoinPool.commonPool(), InventoryManager.DEFAULT_PARALLEL_THRESHOLD);
         store = new InventoryStore();
+        decisionCache = new DecisionCache(manager, store);
         
-        // Step 1: Initialize Inventory - Load 50 items
-        System.out.println("Initializing inventory with 50 items...");
-        List<Item> items = ItemDataGenerator.generate50Items();
-        for (Item item : items) {
-            store.addItem(item);
+        boolean restored = false;
+        if (journalPath != null) {
+            try {
+                if (InventoryJournal.hasRecords(journalPath)) {
+                    System.out.println("Replaying journal " + journalPath + "...");
+                    long records = InventoryJournal.replay(journalPath, store);
+                    System.out.println("✓ Replayed " + records + " records, " + store.getItemCount() + " items restored");
+                    restored = store.getItemCount() > 0;
+                }
+                journal = InventoryJournal.open(journalPath, InventoryJournal.FsyncPolicy.PER_BATCH, 0);
+                store.setJournal(journal);
+                manager.setJournal(journal);
+            } catch (IOException e) {
+                System.err.println("Error opening journal: " + e.getMessage());
+                System.out.println("Continuing without journal...");
+            }
+        }
+        
+        if (!restored) {
+            // Step 1: Initialize Inventory - Load 50 items (or a synthetic catalog)
+            List<Item> items;
+            if (itemCount > 0) {
+                System.out.println("Generating " + itemCount + " items (seed=" + seed + ")...");
+                items = ItemDataGenerator.generate(seed, itemCount, 30, DemandDistribution.UNIFORM);
+            } else {
+                System.out.println("Initializing inventory with 50 items...");
+                items = ItemDataGenerator.generate50Items(seed);
+            }
+            store.addItems(items);
+            System.out.println("✓ Inventory initialized with " + store.getItemCount() + " items\n");
+        }
+        commitJournal();
+        
+        if (forecastConfigPath != null) {
+            try {
+                Map<Integer, PolicyConfig> itemConfigs = ForecastBacktest.toItemConfigs(
+                        ForecastBacktest.readCsv(forecastConfigPath), config);
+                manager.setItemConfigs(itemConfigs);
+                System.out.println("✓ Loaded forecasting configs for " + itemConfigs.size() + " items");
+            } catch (IOException e) {
+                System.err.println("Error reading forecasting configs: " + e.getMessage());
+            }
         }
-        System.out.println("✓ Inventory initialized with " + store.getItemCount() + " items\n");
         
         Scanner scanner = new Scanner(System.in);
         
@@ -77,6 +147,9 @@ public class Main {
             System.out.println("7) Generate weekly report");
             System.out.println("8) Generate monthly report");
             System.out.println("9) Simulate daily workflow");
+            System.out.println("10) Simulate N days (orders arrive after lead time)");
+            System.out.println("11) Evaluate service levels (Monte Carlo)");
+            System.out.println("12) Backtest forecasting parameters per item");
             System.out.println("0) Exit");
             System.out.print("Choose: ");
             String choice = scanner.nextLine().trim();
@@ -109,13 +182,39 @@ public class Main {
                 case "9":
                     simulateDailyWorkflow();
                     break;
+                case "10":
+                    simulateDays(scanner, seed);
+                    break;
+                case "11":
+                    evaluateServiceLevels(scanner, config, seed);
+                    break;
+                case "12":
+                    backtestForecasting(scanner, config);
+                    break;
                 case "0":
+                    closeJournal();
                     System.out.println("Goodbye!");
                     scanner.close();
                     return;
                 default:
                     System.out.println("Invalid option. Please try again.");
             }
+            commitJournal();
+        }
+    }
+    
+    private static void commitJournal() {
+        if (journal != null) {
+            journal.commit();
+        }
+    }
+    
+    private static void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("Error closing journal: " + e.getMessage());
         }
     }
     
@@ -150,22 +249,110 @@ public class Main {
         }
     }
     
+    private static void simulateDays(Scanner scanner, long seed) {
+        System.out.print("Number of days to simulate: ");
+        int days = Integer.parseInt(scanner.nextLine().trim());
+        
+        System.out.println("\n=== Simulating " + days + " Days ===");
+        InventorySimulation simulation = new InventorySimulation(
+                store, manager, DemandDistribution.UNIFORM, ForkJoinPool.commonPool(), seed);
+        long start = System.nanoTime();
+        InventorySimulation.SimulationResult result = simulation.run(days);
+        System.out.println(result.toDisplayString());
+        System.out.println(String.format("✓ Completed in %.1f s", (System.nanoTime() - start) / 1e9));
+    }
+    
+    private static void evaluateServiceLevels(Scanner scanner, PolicyConfig config, long seed) {
+        System.out.print("Scenarios per item: ");
+        int scenarios = Integer.parseInt(scanner.nextLine().trim());
+        System.out.print("Days per scenario: ");
+        int days = Integer.parseInt(scanner.nextLine().trim());
+        
+        // z for ~90%, 95%, 98% and 99% cycle service levels, plus the configured one
+        double[] serviceLevels = {1.28, 1.65, 2.05, 2.33, config.zServiceLevel};
+        List<Item> items = store.getAllItems();
+        System.out.println("\n=== Evaluating Service Levels ===");
+        System.out.println(String.format("%-8s %10s %14s %14s %14s", "Z", "Fill rate", "Stockout rate", "Holding", "Ordering"));
+        long start = System.nanoTime();
+        // Same seed for every candidate, so rows differ by policy rather than by luck of the draw
+        for (int i = 0; i < serviceLevels.length; i++) {
+            double z = serviceLevels[i];
+            if (i < serviceLevels.length - 1 && z == config.zServiceLevel) continue; // shown last
+            PolicyConfig candidate = new PolicyConfig(config.forecastingMethod, config.smaWindowDays,
+                    config.expAlpha, z, config.avgLeadTimeDays, config.leadTimeStdDays, config.orderingCostPerOrder);
+            PolicyEvaluation.EvaluationResult result = new PolicyEvaluation(
+                    candidate, DemandDistribution.UNIFORM, ForkJoinPool.commonPool(), seed)
+                    .evaluate(items, scenarios, days);
+            System.out.println(String.format("%-8s %9.2f%% %13.2f%% %14.2f %14.2f",
+                    z == config.zServiceLevel ? z + "*" : String.valueOf(z),
+                    result.getFillRate() * 100, result.getStockoutRate() * 100,
+                    result.holdingCost / scenarios, result.orderingCost / scenarios));
+        }
+        System.out.println("* current configuration; costs are per scenario");
+        System.out.println(String.format("✓ Completed in %.1f s", (System.nanoTime() - start) / 1e9));
+    }
+    
+    private static void backtestForecasting(Scanner scanner, PolicyConfig config) {
+        System.out.println("\n=== Backtesting Forecasting Parameters ===");
+        long start = System.nanoTime();
+        List<ForecastBacktest.ItemForecastConfig> results =
+                new ForecastBacktest(ForkJoinPool.commonPool()).run(store.getAllItems());
+        long elapsed = System.nanoTime() - start;
+        
+        int sma = 0, exponential = 0, skipped = 0;
+        double totalMae = 0;
+        for (ForecastBacktest.ItemForecastConfig result : results) {
+            if (result.method == null) {
+                skipped++;
+                continue;
+            }
+            totalMae += result.mae;
+            if (result.method == Forecasting.Method.SMA) sma++; else exponential++;
+        }
+        int scored = sma + exponential;
+        System.out.println(String.format("Backtested %d items: %d best with SMA, %d with exponential smoothing, %d without enough history",
+                results.size(), sma, exponential, skipped));
+        if (scored > 0) {
+            System.out.println(String.format("Mean MAE with per-item parameters: %.2f", totalMae / scored));
+        }
+        for (int i = 0; i < Math.min(10, results.size()); i++) {
+            System.out.println("  " + results.get(i).toDisplayString());
+        }
+        System.out.println(String.format("✓ Completed in %.1f s", elapsed / 1e9));
+        
+        System.out.print("Save to CSV (path, blank to skip): ");
+        String path = scanner.nextLine().trim();
+        if (!path.isEmpty()) {
+            try {
+                ForecastBacktest.writeCsv(Paths.get(path), results);
+                System.out.println("✓ Saved; start with --forecast-config=" + path + " to use it");
+            } catch (IOException e) {
+                System.err.println("Error writing CSV: " + e.getMessage());
+            }
+        }
+        System.out.print("Use these parameters now? (y/n): ");
+        if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+            manager.setItemConfigs(ForecastBacktest.toItemConfigs(results, config));
+            System.out.println("✓ Per-item forecasting parameters applied");
+        }
+    }
+    
     private static void processDailyUpdate() {
         System.out.println("\n=== Processing Daily Update ===");
         System.out.println("Forecasting demand, calculating safety stock, and checking replenishment...\n");
         
-        List<Item> inventory = store.getAllItems();
-        List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(inventory);
+        int changed = store.getDirtyCount();
+        List<InventoryManager.ReplenishmentDecision> decisions = decisionCache.getDecisions();
         
-        System.out.println("Daily update completed for " + decisions.size() + " items.");
+        System.out.println("Daily update completed for " + decisions.size() + " items ("
+                + changed + " recomputed).");
         System.out.println("Items needing reorder: " + 
                 decisions.stream().filter(d -> d.needsReorder).count());
     }
     
     private static void showReplenishmentDecisions() {
         System.out.println("\n=== Replenishment Decisions ===");
-        List<Item> inventory = store.getAllItems();
-        List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(inventory);
+        List<InventoryManager.ReplenishmentDecision> decisions = decisionCache.getDecisions();
         
         for (InventoryManager.ReplenishmentDecision decision : decisions) {
             System.out.println(decision.toDisplayString());
@@ -174,8 +361,7 @@ public class Main {
     
     private static void placeOrders() {
         System.out.println("\n=== Placing Orders ===");
-        List<Item> inventory = store.getAllItems();
-        List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(inventory);
+        List<InventoryManager.ReplenishmentDecision> decisions = decisionCache.getDecisions();
         
         int ordersPlaced = 0;
         for (InventoryManager.ReplenishmentDecision decision : decisions) {
@@ -194,29 +380,44 @@ public class Main {
     
     private static void showLowStockAlerts() {
         System.out.println("\n=== Low Stock Alerts ===");
-        List<Item> inventory = store.getAllItems();
-        List<String> alerts = InventoryReports.generateLowStockAlerts(inventory);
-        
-        if (alerts.isEmpty()) {
-            System.out.println("No low stock alerts.");
-        } else {
-            alerts.forEach(System.out::println);
+        printLowStockAlerts();
+    }
+    
+    private static void printLowStockAlerts() {
+        try {
+            int alerts = console.writeLowStockAlerts(store);
+            console.flush();
+            if (alerts == 0) {
+                System.out.println("No low stock alerts.");
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing alerts: " + e.getMessage());
         }
     }
     
     private static void generateWeeklyReport() {
         System.out.println("\n=== Weekly Report ===");
         List<Item> inventory = store.getAllItems();
-        List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(inventory);
-        String report = InventoryReports.generateWeeklyReport(inventory, decisions);
-        System.out.println(report);
+        List<InventoryManager.ReplenishmentDecision> decisions = decisionCache.getDecisions();
+        try {
+            console.writeWeeklyReport(inventory, decisions);
+            console.flush();
+            System.out.println();
+        } catch (IOException e) {
+            System.err.println("Error writing report: " + e.getMessage());
+        }
     }
     
     private static void generateMonthlyReport() {
         System.out.println("\n=== Monthly Report ===");
         List<Item> inventory = store.getAllItems();
-        String report = InventoryReports.generateMonthlyReport(inventory);
-        System.out.println(report);
+        try {
+            console.writeMonthlyReport(inventory);
+            console.flush();
+            System.out.println();
+        } catch (IOException e) {
+            System.err.println("Error writing report: " + e.getMessage());
+        }
     }
     
     private static void simulateDailyWorkflow() {
@@ -237,7 +438,7 @@ public class Main {
         
         // Step 2: Process daily update
         System.out.println("Step 2: Processing daily update (forecast, safety stock, ROP)...");
-        List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(inventory);
+        List<InventoryManager.ReplenishmentDecision> decisions = decisionCache.getDecisions();
         System.out.println("✓ Daily update processed\n");
         
         // Step 3: Show results
@@ -256,12 +457,7 @@ public class Main {
         
         // Step 4: Show alerts
         System.out.println("Step 4: Low stock alerts:");
-        List<String> alerts = InventoryReports.generateLowStockAlerts(inventory);
-        if (alerts.isEmpty()) {
-            System.out.println("No low stock alerts.");
-        } else {
-            alerts.forEach(System.out::println);
-        }
+        printLowStockAlerts();
         
         System.out.println("\n✓ Daily workflow simulation completed!");
     }
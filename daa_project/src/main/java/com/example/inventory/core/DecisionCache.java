@@ -0,0 +1,82 @@
+package com.example.inventory.core;
+
+import com.example.inventory.store.InventoryStore;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Replenishment decisions for a store, computed at most once per store epoch.
+ *
+ * Several views usually need the same decisions one after another (dashboard,
+ * replenishment table, weekly report); they can share one cache and only the
+ * first caller after a change pays for the update, which is itself incremental.
+ * The returned list is read-only and stays valid as a snapshot after later changes.
+ *
+ * getDecisions() computes on a miss and blocks while another thread computes,
+ * so it belongs on worker threads. Views on the event dispatch thread read
+ * getLatest() instead, which returns the last result without waiting.
+ */
+public class DecisionCache {
+    private final InventoryManager manager;
+    private final InventoryStore store;
+    
+    private long cachedEpoch = -1;
+    private List<InventoryManager.ReplenishmentDecision> cached;
+    private volatile List<InventoryManager.ReplenishmentDecision> latest; // last result, for readers that must not wait
+    private long hits, misses;
+    
+    public DecisionCache(InventoryManager manager, InventoryStore store) {
+        this.manager = manager;
+        this.store = store;
+    }
+    
+    public List<InventoryManager.ReplenishmentDecision> getDecisions() {
+        return getDecisions(InventoryManager.ProgressMonitor.NONE);
+    }
+    
+    /**
+     * Like getDecisions(), reporting the update's progress on a miss. A cancelled
+     * update throws CancellationException and leaves the cache as it was.
+     */
+    public synchronized List<InventoryManager.ReplenishmentDecision> getDecisions(
+            InventoryManager.ProgressMonitor monitor) {
+        // Read the epoch before computing: a change made during the update
+        // leaves the cache stale and the next call recomputes
+        long epoch = store.getEpoch();
+        if (cached != null && epoch == cachedEpoch) {
+            hits++;
+            return cached;
+        }
+        misses++;
+        cached = Collections.unmodifiableList(manager.processIncrementalUpdate(store, monitor));
+        cachedEpoch = epoch;
+        latest = cached;
+        return cached;
+    }
+    
+    /**
+     * Decisions from the last completed update, or null before the first one.
+     * Never computes or waits, so it may be stale; a cancelled update leaves it
+     * as it was.
+     */
+    public List<InventoryManager.ReplenishmentDecision> getLatest() {
+        return latest;
+    }
+    
+    /**
+     * Forces the next call to recompute, e.g. after changing the policy.
+     */
+    public synchronized void invalidate() {
+        store.markAllDirty();
+        cached = null;
+    }
+    
+    public synchronized long getHitCount() { return hits; }
+    public synchronized long getMissCount() { return misses; }
+    
+    @Override
+    public synchronized String toString() {
+        return "DecisionCache[epoch=" + cachedEpoch + ", hits=" + hits + ", misses=" + misses + "]";
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.inventory.core;
+
+import com.example.inventory.model.Item;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Walk-forward backtest of the forecasting parameters, per item.
+ *
+ * For every day t after a warm-up, the forecast made from days [0, t) is
+ * compared with the actual day t, for each SMA window and each smoothing
+ * alpha of the grid. Errors are summarized as MAE and MAPE (MAPE over days
+ * with non-zero sales). The best window and the best alpha are picked by MAE,
+ * ties broken by MAPE, and the method with the lower MAE wins.
+ *
+ * A prefix sum over the history gives every SMA forecast in O(1), and the
+ * smoothed level is advanced one day at a time exactly as Forecasting does, so
+ * each grid point costs one pass over the history: O(days * grid) per item.
+ * Items are independent and run in parallel chunks.
+ *
+ * Results can be saved as CSV and turned into per-item configs for
+ * InventoryManager.setItemConfigs().
+ */
+public class ForecastBacktest {
+    public static final int[] DEFAULT_SMA_WINDOWS = {3, 5, 7, 10, 14, 21, 28};
+    public static final double[] DEFAULT_ALPHAS = {0.05, 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.8};
+    /** Days of history used only to start the forecasts, never scored */
+    public static final int DEFAULT_WARM_UP_DAYS = 7;
+    private static final int CHUNK_SIZE = 1_024;
+    private static final String CSV_HEADER = "itemID,method,smaWindowDays,expAlpha,mae,mape";
+
+    private final int[] smaWindows;
+    private final double[] alphas;
+    private final int warmUpDays;
+    private final ForkJoinPool pool; // null = sequential
+
+    public ForecastBacktest(ForkJoinPool pool) {
+        this(DEFAULT_SMA_WINDOWS, DEFAULT_ALPHAS, DEFAULT_WARM_UP_DAYS, pool);
+    }
+
+    public ForecastBacktest(int[] smaWindows, double[] alphas, int warmUpDays, ForkJoinPool pool) {
+        if (smaWindows.length == 0 || alphas.length == 0) {
+            throw new IllegalArgumentException("grid must have at least one window and one alpha");
+        }
+        if (warmUpDays < 1) throw new IllegalArgumentException("warmUpDays must be >= 1");
+        for (int window : smaWindows) {
+            if (window <= 0) throw new IllegalArgumentException("SMA windows must be > 0");
+        }
+        this.smaWindows = smaWindows.clone();
+        this.alphas = alphas.clone();
+        this.warmUpDays = warmUpDays;
+        this.pool = pool;
+    }
+
+    /**
+     * Backtests every item and returns the results in input order. Items with
+     * no more history than the warm-up have scoredDays == 0 and no usable result.
+     */
+    public List<ItemForecastConfig> run(List<Item> items) {
+        Item[] itemArray = items.toArray(new Item[0]);
+        ItemForecastConfig[] results = new ItemForecastConfig[itemArray.length];
+        if (pool == null || itemArray.length <= CHUNK_SIZE) {
+            backtest(itemArray, results, 0, itemArray.length);
+        } else {
+            pool.invoke(new BacktestTask(itemArray, results, 0, itemArray.length));
+        }
+        return Arrays.asList(results);
+    }
+
+    private void backtest(Item[] items, ItemForecastConfig[] out, int from, int to) {
+        long[] prefix = new long[0];
+        for (int i = from; i < to; i++) {
+            int[] history;
+            synchronized (items[i]) {
+                history = items[i].getDailySalesHistory().toArray();
+            }
+            if (prefix.length < history.length + 1) {
+                prefix = new long[history.length + 1];
+            }
+            out[i] = backtest(items[i].getItemID(), history, prefix);
+        }
+    }
+
+    private ItemForecastConfig backtest(int itemID, int[] history, long[] prefix) {
+        int n = history.length;
+        if (n <= warmUpDays) {
+            return new ItemForecastConfig(itemID, null, 0, Double.NaN, Double.NaN, Double.NaN, 0);
+        }
+        prefix[0] = 0;
+        for (int t = 0; t < n; t++) {
+            prefix[t + 1] = prefix[t] + history[t];
+        }
+        int nonZeroDays = 0;
+        for (int t = warmUpDays; t < n; t++) {
+            if (history[t] > 0) nonZeroDays++;
+        }
+
+        int bestWindow = smaWindows[0];
+        double bestWindowMae = Double.POSITIVE_INFINITY, bestWindowMape = Double.POSITIVE_INFINITY;
+        for (int window : smaWindows) {
+            double absError = 0, pctError = 0;
+            for (int t = warmUpDays; t < n; t++) {
+                int start = Math.max(0, t - window);
+                double forecast = (double) (prefix[t] - prefix[start]) / (t - start);
+                double error = Math.abs(forecast - history[t]);
+                absError += error;
+                if (history[t] > 0) pctError += error / history[t];
+            }
+            double mae = absError / (n - warmUpDays);
+            double mape = nonZeroDays == 0 ? Double.NaN : pctError * 100 / nonZeroDays;
+            if (isBetter(mae, mape, bestWindowMae, bestWindowMape)) {
+                bestWindow = window;
+                bestWindowMae = mae;
+                bestWindowMape = mape;
+            }
+        }
+
+        double bestAlpha = alphas[0];
+        double bestAlphaMae = Double.POSITIVE_INFINITY, bestAlphaMape = Double.POSITIVE_INFINITY;
+        for (double alpha : alphas) {
+            // Same recurrence as Forecasting.exponentialSmoothing, scored before each update
+            double level = history[0];
+            for (int t = 1; t < warmUpDays; t++) {
+                level = alpha * history[t] + (1 - alpha) * level;
+            }
+            double absError = 0, pctError = 0;
+            for (int t = warmUpDays; t < n; t++) {
+                double error = Math.abs(level - history[t]);
+                absError += error;
+                if (history[t] > 0) pctError += error / history[t];
+                level = alpha * history[t] + (1 - alpha) * level;
+            }
+            double mae = absError / (n - warmUpDays);
+            double mape = nonZeroDays == 0 ? Double.NaN : pctError * 100 / nonZeroDays;
+            if (isBetter(mae, mape, bestAlphaMae, bestAlphaMape)) {
+                bestAlpha = alpha;
+                bestAlphaMae = mae;
+                bestAlphaMape = mape;
+            }
+        }
+
+        boolean sma = isBetter(bestWindowMae, bestWindowMape, bestAlphaMae, bestAlphaMape);
+        return new ItemForecastConfig(itemID,
+                sma ? Forecasting.Method.SMA : Forecasting.Method.EXPONENTIAL,
+                bestWindow, bestAlpha,
+                sma ? bestWindowMae : bestAlphaMae,
+                sma ? bestWindowMape : bestAlphaMape,
+                n - warmUpDays);
+    }
+
+    /** Lower MAE wins; equal MAE goes to the lower MAPE, then to the earlier grid point */
+    private static boolean isBetter(double mae, double mape, double bestMae, double bestMape) {
+        if (mae != bestMae) return mae < bestMae;
+        return !Double.isNaN(mape) && (Double.isNaN(bestMape) || mape < bestMape);
+    }
+
+    private class BacktestTask extends RecursiveAction {
+        private final Item[] items;
+        private final ItemForecastConfig[] out;
+        private final int from, to;
+
+        BacktestTask(Item[] items, ItemForecastConfig[] out, int from, int to) {
+            this.items = items;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                backtest(items, out, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BacktestTask(items, out, from, mid), new BacktestTask(items, out, mid, to));
+        }
+    }
+
+    /**
+     * Per-item configs for InventoryManager.setItemConfigs(): the base config
+     * with each item's best method, window and alpha. Items without a usable
+     * result are left out and keep the manager's config.
+     */
+    public static Map<Integer, PolicyConfig> toItemConfigs(List<ItemForecastConfig> results, PolicyConfig base) {
+        Map<Integer, PolicyConfig> configs = new HashMap<>(results.size() * 2);
+        for (ItemForecastConfig result : results) {
+            if (result.method != null) {
+                configs.put(result.itemID, result.toPolicyConfig(base));
+            }
+        }
+        return configs;
+    }
+
+    /**
+     * Writes the usable results as CSV: itemID,method,smaWindowDays,expAlpha,mae,mape
+     */
+    public static void writeCsv(Path path, List<ItemForecastConfig> results) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 16)) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+            StringBuilder line = new StringBuilder(64);
+            for (ItemForecastConfig result : results) {
+                if (result.method == null) continue;
+                line.setLength(0);
+                line.append(result.itemID)
+                    .append(',').append(result.method)
+                    .append(',').append(result.smaWindowDays)
+                    .append(',').append(result.expAlpha)
+                    .append(',').append(result.mae)
+                    .append(',');
+                if (!Double.isNaN(result.mape)) line.append(result.mape);
+                line.append('\n');
+                out.append(line);
+            }
+        }
+    }
+
+    /**
+     * Reads a file written by writeCsv. The header and lines starting with '#' are skipped.
+     */
+    public static List<ItemForecastConfig> readCsv(Path path) throws IOException {
+        List<ItemForecastConfig> results = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty() || line.startsWith("#") || line.equals(CSV_HEADER)) continue;
+                String[] fields = line.split(",", -1);
+                if (fields.length != 6) {
+                    throw new IOException(path + ":" + lineNumber + ": expected 6 fields, found " + fields.length);
+                }
+                try {
+                    results.add(new ItemForecastConfig(
+                            Integer.parseInt(fields[0]),
+                            Forecasting.Method.valueOf(fields[1]),
+                            Integer.parseInt(fields[2]),
+                            Double.parseDouble(fields[3]),
+                            Double.parseDouble(fields[4]),
+                            fields[5].isEmpty() ? Double.NaN : Double.parseDouble(fields[5]),
+                            0));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(path + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Backtest outcome for one item. The window and the alpha are the best of
+     * their method; method says which of the two forecasts better and whose
+     * errors are reported.
+     */
+    public static class ItemForecastConfig {
+        public final int itemID;
+        public final Forecasting.Method method; // null = not enough history
+        public final int smaWindowDays;
+        public final double expAlpha;
+        public final double mae;
+        public final double mape; // percent; NaN if every scored day had zero sales
+        public final int scoredDays; // 0 when read back from CSV
+
+        public ItemForecastConfig(int itemID, Forecasting.Method method, int smaWindowDays, double expAlpha,
+                                  double mae, double mape, int scoredDays) {
+            this.itemID = itemID;
+            this.method = method;
+            this.smaWindowDays = smaWindowDays;
+            this.expAlpha = expAlpha;
+            this.mae = mae;
+            this.mape = mape;
+            this.scoredDays = scoredDays;
+        }
+
+        public PolicyConfig toPolicyConfig(PolicyConfig base) {
+            return new PolicyConfig(method, smaWindowDays, expAlpha, base.zServiceLevel,
+                    base.avgLeadTimeDays, base.leadTimeStdDays, base.orderingCostPerOrder);
+        }
+
+        public String toDisplayString() {
+            if (method == null) {
+                return String.format("Item %d: not enough history", itemID);
+            }
+            return String.format("Item %d: %s (window %d, alpha %.2f), MAE %.2f, MAPE %s",
+                    itemID, method, smaWindowDays, expAlpha, mae,
+                    Double.isNaN(mape) ? "n/a" : String.format("%.1f%%", mape));
+        }
+    }
+}
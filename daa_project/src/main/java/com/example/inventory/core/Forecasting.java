@@ -1,5 +1,7 @@
 package com.example.inventory.core;
 
+import com.example.inventory.model.HistoryView;
+
 import java.util.List;
 
 public final class Forecasting {
@@ -20,6 +22,20 @@ public final class Forecasting {
         return n == 0 ? 0.0 : sum / n;
     }
 
+    public static double simpleMovingAverage(HistoryView history, int window) {
+        if (history.isEmpty() || window <= 0) return 0.0;
+        int size = history.size();
+        if (window >= size) {
+            // Whole window requested: the running sum already holds the answer
+            return (double) history.sum() / size;
+        }
+        double sum = 0.0;
+        for (int i = size - window; i < size; i++) {
+            sum += history.get(i);
+        }
+        return sum / window;
+    }
+
     public static double exponentialSmoothing(List<Integer> history, double alpha) {
         if (history.isEmpty()) return 0.0;
         double s = history.get(0);
@@ -29,6 +45,15 @@ public final class Forecasting {
         return s;
     }
 
+    public static double exponentialSmoothing(HistoryView history, double alpha) {
+        if (history.isEmpty()) return 0.0;
+        double s = history.get(0);
+        for (int i = 1; i < history.size(); i++) {
+            s = alpha * history.get(i) + (1 - alpha) * s;
+        }
+        return s;
+    }
+
     public static double stdDev(List<Integer> values) {
         int n = values.size();
         if (n == 0) return 0.0;
@@ -41,5 +66,17 @@ public final class Forecasting {
         var = var / Math.max(1, n - 1);
         return Math.sqrt(var);
     }
-}
 
+    public static double stdDev(HistoryView values) {
+        int n = values.size();
+        if (n == 0) return 0.0;
+        double mean = (double) values.sum() / n;
+        double var = 0.0;
+        for (int i = 0; i < n; i++) {
+            double d = values.get(i) - mean;
+            var += d * d;
+        }
+        var = var / Math.max(1, n - 1);
+        return Math.sqrt(var);
+    }
+}
@@ -1,9 +1,24 @@
 package com.example.inventory.core;
 
+import com.example.inventory.model.HistoryView;
 import com.example.inventory.model.Item;
+import com.example.inventory.store.ColumnarInventoryStore;
+import com.example.inventory.store.InventoryEventBus;
+import com.example.inventory.store.InventoryJournal;
+import com.example.inventory.store.InventoryStore;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Inventory Manager implementing the specified workflow:
@@ -14,10 +29,81 @@ import java.util.List;
  * - Track Lead Time
  */
 public class InventoryManager {
+    /** Catalog size below which processDailyUpdate stays sequential by default */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+    /** Items per fork/join leaf task */
+    private static final int CHUNK_SIZE = 2_048;
+    
     private final PolicyConfig config;
+    private volatile Map<Integer, PolicyConfig> itemConfigs = Collections.emptyMap(); // by item ID
+    private final ForkJoinPool pool; // null = always sequential
+    private final int parallelThreshold;
+    private volatile InventoryJournal journal; // null = mutations are not journaled
+    private volatile InventoryEventBus eventBus; // null = no events
+    
+    // Decisions from the last incremental update, indexed by store slot
+    private InventoryStore cachedStore;
+    private ReplenishmentDecision[] cachedDecisions;
     
     public InventoryManager(PolicyConfig config) {
+        this(config, null, DEFAULT_PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * @param pool pool for parallel daily updates, or null to stay sequential
+     * @param parallelThreshold minimum number of items before the pool is used
+     */
+    public InventoryManager(PolicyConfig config, ForkJoinPool pool, int parallelThreshold) {
         this.config = config;
+        this.pool = pool;
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+    }
+    
+    /**
+     * Log sales, receipts, orders and reorder-level changes made through this
+     * manager to the journal; pass null to stop.
+     */
+    public void setJournal(InventoryJournal journal) {
+        this.journal = journal;
+    }
+    
+    /**
+     * Per-item configs that replace the manager's config for those items, e.g.
+     * from ForecastBacktest.toItemConfigs(); pass an empty map to clear them.
+     * The incremental update recomputes every item on its next call. The
+     * columnar daily update keeps using the manager's config.
+     */
+    public synchronized void setItemConfigs(Map<Integer, PolicyConfig> configs) {
+        this.itemConfigs = configs.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new HashMap<>(configs));
+        if (cachedStore != null) {
+            cachedStore.markAllDirty();
+        }
+    }
+    
+    public Map<Integer, PolicyConfig> getItemConfigs() {
+        return itemConfigs;
+    }
+    
+    private PolicyConfig configFor(Item item) {
+        Map<Integer, PolicyConfig> configs = itemConfigs;
+        if (configs.isEmpty()) return config; // skips boxing the ID in the common case
+        return configs.getOrDefault(item.getItemID(), config);
+    }
+    
+    /**
+     * Publish completed daily updates and placed orders to the bus; pass null to stop.
+     */
+    public void setEventBus(InventoryEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    private void publish(InventoryEventBus.Topic topic) {
+        InventoryEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(topic);
+        }
     }
     
     /**
@@ -27,49 +113,342 @@ public class InventoryManager {
      * 2. Forecast next day demand using EMA/SMA
      * 3. Calculate safety stock and reorder point
      * 4. Check if reorder needed and calculate EOQ
+     *
+     * Items are independent, so with a pool configured and at least
+     * parallelThreshold items the work is split into chunks across the pool.
+     * Decisions are always returned in input order.
      */
     public List<ReplenishmentDecision> processDailyUpdate(List<Item> inventory) {
-        List<ReplenishmentDecision> decisions = new ArrayList<>();
+        if (!isParallel(inventory.size())) {
+            List<ReplenishmentDecision> decisions = new ArrayList<>(inventory.size());
+            for (Item item : inventory) {
+                decisions.add(decide(item));
+            }
+            publish(InventoryEventBus.Topic.DECISIONS_UPDATED);
+            return decisions;
+        }
         
-        for (Item item : inventory) {
-            // Step 1: Forecast next day demand using EMA or SMA
-            double forecast = calculateForecast(item);
-            
-            // Step 2: Calculate safety stock
-            double demandStdDev = Forecasting.stdDev(item.getDailySalesHistory());
-            int safetyStock = Policies.computeSafetyStock(demandStdDev, config.zServiceLevel, item.getLeadTime());
-            
-            // Step 3: Calculate reorder point (ROP)
-            int reorderPoint = Policies.computeReorderPoint(forecast, item.getLeadTime(), safetyStock);
-            item.setReorderLevel(reorderPoint); // Update reorder level
+        List<Item> items = inventory instanceof RandomAccess ? inventory : new ArrayList<>(inventory);
+        ReplenishmentDecision[] decisions = new ReplenishmentDecision[items.size()];
+        pool.invoke(new DecisionTask(items, decisions, 0, decisions.length));
+        publish(InventoryEventBus.Topic.DECISIONS_UPDATED);
+        return Arrays.asList(decisions);
+    }
+    
+    private ReplenishmentDecision decide(Item item) {
+        // Holding the item's lock makes the whole decision atomic with respect to
+        // sales and receipts recorded concurrently on other threads; the reorder-level
+        // change is announced after the lock is released
+        return item.atomically(() -> decideLocked(item));
+    }
+    
+    private ReplenishmentDecision decideLocked(Item item) {
+        PolicyConfig config = configFor(item);
+        
+        // Step 1: Forecast next day demand using EMA or SMA
+        double forecast = calculateForecast(item, config);
+        
+        // Step 2: Calculate safety stock
+        // Welford state is maintained per sale, so this is O(1) regardless of history length
+        double demandStdDev = item.getDemandStdDev();
+        int safetyStock = Policies.computeSafetyStock(demandStdDev, config.zServiceLevel, item.getLeadTime());
+        
+        // Step 3: Calculate reorder point (ROP)
+        int reorderPoint = Policies.computeReorderPoint(forecast, item.getLeadTime(), safetyStock);
+        // Journaled before it is applied; reorder levels are recomputed by every
+        // decision, so they are made durable with the next sale or commit
+        InventoryJournal journal = this.journal;
+        if (journal != null && item.getReorderLevel() != reorderPoint) {
+            journal.reorderLevel(item.getItemID(), reorderPoint);
+        }
+        item.setReorderLevel(reorderPoint); // Update reorder level
+        
+        // Step 4: Check if reorder needed (CurrentStock <= ReorderPoint)
+        boolean needsReorder = item.getCurrentStock() <= reorderPoint;
+        
+        // Step 5: Calculate EOQ if reorder needed
+        int orderQuantity = 0;
+        if (needsReorder) {
+            double annualDemand = forecast * 365.0;
+            orderQuantity = Policies.computeEOQ(
+                annualDemand, 
+                item.getOrderingCost(), 
+                item.getAnnualHoldingCost() / 365.0
+            );
+        }
+        
+        return new ReplenishmentDecision(
+            item, forecast, safetyStock, reorderPoint, orderQuantity, needsReorder
+        );
+    }
+    
+    private boolean isParallel(int size) {
+        return pool != null && size >= parallelThreshold;
+    }
+    
+    /**
+     * Splits [from, to) in halves down to CHUNK_SIZE; each leaf writes its own
+     * slice of the result array, which keeps the output in input order.
+     */
+    private class DecisionTask extends RecursiveAction {
+        private final List<Item> items;
+        private final ReplenishmentDecision[] out;
+        private final int from, to;
+        
+        DecisionTask(List<Item> items, ReplenishmentDecision[] out, int from, int to) {
+            this.items = items;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                for (int i = from; i < to; i++) {
+                    out[i] = decide(items.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new DecisionTask(items, out, from, mid), new DecisionTask(items, out, mid, to));
+        }
+    }
+    
+    /**
+     * Daily update that only recomputes items changed since the previous call
+     * for the same store (see InventoryStore.drainDirtySlots()) and reuses the
+     * earlier decisions for the rest. The first call for a store, or a call
+     * after the store was switched, computes everything. A manager's policy is
+     * fixed, so a config change means a new manager and thus a full pass.
+     *
+     * Each store should have a single incremental consumer, since the call
+     * drains the store's dirty set. Decisions are returned in store order.
+     */
+    public List<ReplenishmentDecision> processIncrementalUpdate(InventoryStore store) {
+        return processIncrementalUpdate(store, ProgressMonitor.NONE);
+    }
+    
+    /**
+     * processIncrementalUpdate(store) reporting progress to the monitor after
+     * each chunk. If the monitor cancels, chunks not yet started are put back in
+     * the store's dirty set, so the next call picks them up, and a
+     * CancellationException is thrown.
+     */
+    public synchronized List<ReplenishmentDecision> processIncrementalUpdate(InventoryStore store,
+                                                                           ProgressMonitor monitor) {
+        int[] dirty = store.drainDirtySlots();
+        if (store != cachedStore || cachedDecisions == null) {
+            cachedStore = store;
+            cachedDecisions = new ReplenishmentDecision[0];
+            store.markAllDirty();
+            dirty = store.drainDirtySlots();
+        }
+        
+        int size = dirty.length == 0
+                ? cachedDecisions.length
+                : Math.max(cachedDecisions.length, dirty[dirty.length - 1] + 1);
+        if (size > cachedDecisions.length) {
+            cachedDecisions = Arrays.copyOf(cachedDecisions, size);
+        }
+        
+        UpdateProgress progress = new UpdateProgress(store, dirty, monitor);
+        if (isParallel(dirty.length)) {
+            pool.invoke(new DirtyDecisionTask(store, dirty, cachedDecisions, progress, 0, dirty.length));
+        } else {
+            for (int from = 0; from < dirty.length; from += CHUNK_SIZE) {
+                int to = Math.min(dirty.length, from + CHUNK_SIZE);
+                if (progress.skipIfCancelled(from, dirty.length)) break; // requeues the rest
+                for (int i = from; i < to; i++) {
+                    cachedDecisions[dirty[i]] = decide(store.getItemAt(dirty[i]));
+                }
+                progress.completed(to - from);
+            }
+        }
+        if (dirty.length > 0) {
+            publish(InventoryEventBus.Topic.DECISIONS_UPDATED); // even if cancelled, some were
+        }
+        if (progress.cancelled) {
+            throw new CancellationException("Daily update cancelled");
+        }
+        return Arrays.asList(cachedDecisions.clone());
+    }
+    
+    /**
+     * Receives progress from a long-running update and can ask it to stop.
+     * Methods may be called from pool threads.
+     */
+    public interface ProgressMonitor {
+        ProgressMonitor NONE = new ProgressMonitor() {
+            @Override public void progress(int done, int total) { }
+            @Override public boolean isCancelled() { return false; }
+        };
+        
+        void progress(int done, int total);
+        
+        boolean isCancelled();
+    }
+    
+    /**
+     * Progress of one incremental update, shared by its chunks.
+     */
+    private static class UpdateProgress {
+        private final InventoryStore store;
+        private final int[] slots;
+        private final ProgressMonitor monitor;
+        private final AtomicInteger done = new AtomicInteger();
+        private volatile boolean cancelled;
+        
+        UpdateProgress(InventoryStore store, int[] slots, ProgressMonitor monitor) {
+            this.store = store;
+            this.slots = slots;
+            this.monitor = monitor;
+        }
+        
+        /**
+         * Checks for cancellation before chunk [from, to) starts; a skipped
+         * chunk goes back to the dirty set.
+         */
+        boolean skipIfCancelled(int from, int to) {
+            if (cancelled || monitor.isCancelled()) {
+                cancelled = true;
+                store.requeueDirtySlots(slots, from, to);
+                return true;
+            }
+            return false;
+        }
+        
+        void completed(int count) {
+            monitor.progress(done.addAndGet(count), slots.length);
+        }
+    }
+    
+    /**
+     * Like DecisionTask, over a list of store slots rather than a range.
+     */
+    private class DirtyDecisionTask extends RecursiveAction {
+        private final InventoryStore store;
+        private final int[] slots;
+        private final ReplenishmentDecision[] out;
+        private final UpdateProgress progress;
+        private final int from, to;
+        
+        DirtyDecisionTask(InventoryStore store, int[] slots, ReplenishmentDecision[] out,
+                          UpdateProgress progress, int from, int to) {
+            this.store = store;
+            this.slots = slots;
+            this.out = out;
+            this.progress = progress;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                if (progress.skipIfCancelled(from, to)) return;
+                for (int i = from; i < to; i++) {
+                    out[slots[i]] = decide(store.getItemAt(slots[i]));
+                }
+                progress.completed(to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new DirtyDecisionTask(store, slots, out, progress, from, mid),
+                    new DirtyDecisionTask(store, slots, out, progress, mid, to));
+        }
+    }
+    
+    /**
+     * Same workflow as processDailyUpdate(List) as a sequential sweep over the
+     * columns of a struct-of-arrays store. Results go to primitive columns instead
+     * of one decision object per item. Uses the pool under the same conditions as
+     * processDailyUpdate(List).
+     *
+     * @param reuse previous result to overwrite if large enough, may be null
+     */
+    public ReplenishmentColumns processDailyUpdate(ColumnarInventoryStore store, ReplenishmentColumns reuse) {
+        int n = store.getItemCount();
+        ReplenishmentColumns out = reuse != null && reuse.capacity() >= n ? reuse : new ReplenishmentColumns(n);
+        out.reset(n);
+        if (config.forecastingMethod != Forecasting.Method.SMA
+                && Double.compare(store.getSmoothingAlpha(), config.expAlpha) != 0) {
+            store.rebuildSmoothing(config.expAlpha);
+        }
+        
+        int reorderCount = isParallel(n)
+                ? pool.invoke(new ColumnSweepTask(store, out, 0, n))
+                : sweepRows(store, out, 0, n);
+        out.setReorderCount(reorderCount);
+        return out;
+    }
+    
+    /**
+     * Sequential sweep of rows [from, to); returns how many need a reorder.
+     */
+    private int sweepRows(ColumnarInventoryStore store, ReplenishmentColumns out, int from, int to) {
+        boolean exponential = config.forecastingMethod != Forecasting.Method.SMA;
+        int reorderCount = 0;
+        for (int row = from; row < to; row++) {
+            double forecast;
+            if (store.getHistorySize(row) == 0) {
+                forecast = store.getDailyDemand(row);
+            } else if (exponential) {
+                forecast = store.getSmoothedLevel(row);
+            } else {
+                forecast = store.simpleMovingAverage(row, config.smaWindowDays);
+            }
             
-            // Step 4: Check if reorder needed (CurrentStock <= ReorderPoint)
-            boolean needsReorder = item.getCurrentStock() <= reorderPoint;
+            int leadTime = store.getLeadTime(row);
+            int safetyStock = Policies.computeSafetyStock(store.getDemandStdDev(row), config.zServiceLevel, leadTime);
+            int reorderPoint = Policies.computeReorderPoint(forecast, leadTime, safetyStock);
+            store.setReorderLevel(row, reorderPoint);
             
-            // Step 5: Calculate EOQ if reorder needed
+            boolean needsReorder = store.getCurrentStock(row) <= reorderPoint;
             int orderQuantity = 0;
             if (needsReorder) {
-                double annualDemand = forecast * 365.0;
                 orderQuantity = Policies.computeEOQ(
-                    annualDemand, 
-                    item.getOrderingCost(), 
-                    item.getAnnualHoldingCost() / 365.0
+                    forecast * 365.0,
+                    store.getOrderingCost(row),
+                    store.getAnnualHoldingCost(row) / 365.0
                 );
+                reorderCount++;
             }
-            
-            decisions.add(new ReplenishmentDecision(
-                item, forecast, safetyStock, reorderPoint, orderQuantity, needsReorder
-            ));
+            out.set(row, forecast, safetyStock, reorderPoint, orderQuantity, needsReorder);
         }
+        return reorderCount;
+    }
+    
+    private class ColumnSweepTask extends RecursiveTask<Integer> {
+        private final ColumnarInventoryStore store;
+        private final ReplenishmentColumns out;
+        private final int from, to;
         
-        return decisions;
+        ColumnSweepTask(ColumnarInventoryStore store, ReplenishmentColumns out, int from, int to) {
+            this.store = store;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected Integer compute() {
+            if (to - from <= CHUNK_SIZE * 8) {
+                return sweepRows(store, out, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ColumnSweepTask left = new ColumnSweepTask(store, out, from, mid);
+            left.fork();
+            int right = new ColumnSweepTask(store, out, mid, to).compute();
+            return left.join() + right;
+        }
     }
     
     /**
      * Forecast next day demand using EMA or SMA
      */
-    private double calculateForecast(Item item) {
-        List<Integer> history = item.getDailySalesHistory();
+    private double calculateForecast(Item item, PolicyConfig config) {
+        HistoryView history = item.getDailySalesHistory();
         if (history.isEmpty()) {
             return item.getDailyDemand();
         }
@@ -79,7 +458,30 @@ public class InventoryManager {
                 return Forecasting.simpleMovingAverage(history, config.smaWindowDays);
             case EXPONENTIAL:
             default:
-                return Forecasting.exponentialSmoothing(history, config.expAlpha);
+                // Smoothed level is kept up to date per sale; only replay when
+                // it was never seeded or was seeded with a different alpha
+                if (Double.compare(item.getSmoothingAlpha(), config.expAlpha) != 0) {
+                    rebuildSmoothing(item, config.expAlpha);
+                }
+                return item.getSmoothedLevel();
+        }
+    }
+    
+    /**
+     * Re-seed the incremental smoothing state of every item from its history.
+     * Call after switching to a config with a different expAlpha; the result is
+     * the batch exponentialSmoothing value over the same history. Items with
+     * their own config use its expAlpha.
+     */
+    public void rebuildSmoothing(List<Item> inventory) {
+        for (Item item : inventory) {
+            rebuildSmoothing(item, configFor(item).expAlpha);
+        }
+    }
+    
+    private void rebuildSmoothing(Item item, double alpha) {
+        synchronized (item) {
+            item.resetSmoothing(alpha, Forecasting.exponentialSmoothing(item.getDailySalesHistory(), alpha));
         }
     }
     
@@ -87,7 +489,85 @@ public class InventoryManager {
      * Record daily sales for an item
      */
     public void recordDailySales(Item item, int quantity) {
-        item.recordDailySales(quantity);
+        InventoryJournal journal = this.journal;
+        if (journal == null) {
+            item.recordDailySales(quantity);
+            return;
+        }
+        // Append before applying, under the item's lock so records for one item keep
+        // their apply order; the fsync waits until the lock is released
+        long sequence = item.atomically(() -> {
+            long appended = journal.sale(item.getItemID(), quantity);
+            item.recordDailySales(quantity);
+            return appended;
+        });
+        journal.awaitDurable(sequence);
+    }
+    
+    /**
+     * Record a batch of sales, e.g. one drained by SalesIngestionPipeline. Each
+     * sale is journaled and applied like recordDailySales, but the batch waits
+     * for durability once. A sale that fails is reported and skipped; the rest
+     * are still applied.
+     *
+     * @return number of sales applied, out of count
+     */
+    public int recordDailySales(Item[] items, int[] quantities, int count) {
+        InventoryJournal journal = this.journal;
+        long sequence = 0;
+        int applied = 0;
+        for (int i = 0; i < count; i++) {
+            Item item = items[i];
+            int quantity = quantities[i];
+            try {
+                if (journal == null) {
+                    item.recordDailySales(quantity);
+                } else {
+                    sequence = item.atomically(() -> {
+                        long appended = journal.sale(item.getItemID(), quantity);
+                        item.recordDailySales(quantity);
+                        return appended;
+                    });
+                }
+                applied++;
+            } catch (RuntimeException e) {
+                System.err.println(String.format("Sale of %d for ItemID=%d failed: %s",
+                    quantity, item.getItemID(), e));
+            }
+        }
+        if (journal != null && sequence > 0) {
+            journal.awaitDurable(sequence);
+        }
+        return applied;
+    }
+    
+    /**
+     * Record stock received for an item
+     */
+    public void receiveStock(Item item, int quantity) {
+        InventoryJournal journal = this.journal;
+        if (journal == null) {
+            item.receiveStock(quantity);
+            return;
+        }
+        long sequence = item.atomically(() -> {
+            long appended = journal.receipt(item.getItemID(), quantity);
+            item.receiveStock(quantity);
+            return appended;
+        });
+        journal.awaitDurable(sequence);
+    }
+    
+    /**
+     * Journals and announces an order without printing it, for callers placing
+     * many orders such as InventorySimulation
+     */
+    public void submitOrder(Item item, int quantity) {
+        InventoryJournal journal = this.journal;
+        if (journal != null) {
+            journal.awaitDurable(journal.order(item.getItemID(), quantity));
+        }
+        publish(InventoryEventBus.Topic.ORDER_PLACED);
     }
     
     /**
@@ -97,6 +577,7 @@ public class InventoryManager {
         // In a real system, this would create a purchase order
         // For now, we just track that an order was placed
         // Stock will be received after leadTime days
+        submitOrder(item, quantity);
         System.out.println(String.format("ORDER PLACED: ItemID=%d, Name='%s', Quantity=%d, ExpectedDelivery=%d days",
                 item.getItemID(), item.getName(), quantity, item.getLeadTime()));
     }
@@ -0,0 +1,266 @@
+package com.example.inventory.core;
+
+import com.example.inventory.data.DemandDistribution;
+import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryStore;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Discrete-event simulation of the replenishment workflow over many days.
+ *
+ * Each simulated day, in order:
+ * 1. Orders due today arrive (receiveStock)
+ * 2. Demand is drawn per item and recorded as sales; demand above stock is lost
+ * 3. The manager's incremental daily update recomputes decisions
+ * 4. Items whose inventory position (on hand + on order) is at or below the
+ *    reorder point order EOQ units, arriving leadTime days later
+ *
+ * Work is batched per day and split into fixed chunks of items. Each chunk
+ * owns its random stream and its pending orders, kept in a calendar queue
+ * with one bucket per arrival day, so chunks never share mutable state and a
+ * run is reproducible for a given seed whatever the pool size.
+ */
+public class InventorySimulation {
+    private static final int CHUNK_SIZE = 4_096;
+    
+    private final InventoryStore store;
+    private final InventoryManager manager;
+    private final DemandDistribution distribution;
+    private final ForkJoinPool pool; // null = sequential
+    private final long seed;
+    
+    public InventorySimulation(InventoryStore store, InventoryManager manager,
+                               DemandDistribution distribution, ForkJoinPool pool, long seed) {
+        this.store = store;
+        this.manager = manager;
+        this.distribution = distribution;
+        this.pool = pool;
+        this.seed = seed;
+    }
+    
+    /**
+     * Simulates the given number of days; the store is left in its final state.
+     * Orders still in flight at the end are counted but not delivered.
+     */
+    public SimulationResult run(int days) {
+        if (days < 0) throw new IllegalArgumentException("days must be >= 0");
+        int n = store.getItemCount();
+        int[] onOrder = new int[n];
+        
+        SplittableRandom root = new SplittableRandom(seed);
+        Chunk[] chunks = new Chunk[(n + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new Chunk(c * CHUNK_SIZE, Math.min(n, (c + 1) * CHUNK_SIZE), root.split(), onOrder);
+        }
+        
+        SimulationResult result = new SimulationResult(days, n);
+        for (int day = 0; day < days; day++) {
+            final int today = day;
+            forEachChunk(chunks, chunk -> chunk.arriveAndSell(today));
+            List<InventoryManager.ReplenishmentDecision> decisions = manager.processIncrementalUpdate(store);
+            forEachChunk(chunks, chunk -> chunk.order(today, decisions));
+            
+            for (Chunk chunk : chunks) {
+                result.addDay(day, chunk);
+                chunk.resetDay();
+            }
+        }
+        for (int quantity : onOrder) {
+            result.unitsInTransit += quantity;
+        }
+        return result;
+    }
+    
+    private void forEachChunk(Chunk[] chunks, Consumer<Chunk> pass) {
+        if (pool == null || chunks.length < 2) {
+            for (Chunk chunk : chunks) pass.accept(chunk);
+        } else {
+            pool.invoke(new ChunkPass(chunks, pass, 0, chunks.length));
+        }
+    }
+    
+    private static class ChunkPass extends RecursiveAction {
+        private final Chunk[] chunks;
+        private final Consumer<Chunk> pass;
+        private final int from, to;
+        
+        ChunkPass(Chunk[] chunks, Consumer<Chunk> pass, int from, int to) {
+            this.chunks = chunks;
+            this.pass = pass;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                pass.accept(chunks[from]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkPass(chunks, pass, from, mid), new ChunkPass(chunks, pass, mid, to));
+        }
+    }
+    
+    /**
+     * A fixed range of store slots with its own random stream, pending orders
+     * and counters for the current day.
+     */
+    private class Chunk {
+        final int from, to;
+        final SplittableRandom random;
+        final int[] onOrder; // shared array, but each chunk only touches its own range
+        
+        // Calendar queue: bucket (day % length) holds the orders arriving that day
+        final int[][] bucketSlots;
+        final int[][] bucketQuantities;
+        final int[] bucketSizes;
+        
+        // Counters for the current day
+        long demand, sold, lost, received, orders, stockoutItems;
+        double holdingCost, orderingCost;
+        
+        Chunk(int from, int to, SplittableRandom random, int[] onOrder) {
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.onOrder = onOrder;
+            int maxLead = 1;
+            for (int slot = from; slot < to; slot++) {
+                maxLead = Math.max(maxLead, store.getItemAt(slot).getLeadTime());
+            }
+            int buckets = maxLead + 1;
+            bucketSlots = new int[buckets][16];
+            bucketQuantities = new int[buckets][16];
+            bucketSizes = new int[buckets];
+        }
+        
+        void arriveAndSell(int day) {
+            int bucket = day % bucketSizes.length;
+            for (int i = 0; i < bucketSizes[bucket]; i++) {
+                int slot = bucketSlots[bucket][i];
+                int quantity = bucketQuantities[bucket][i];
+                manager.receiveStock(store.getItemAt(slot), quantity);
+                onOrder[slot] -= quantity;
+                received += quantity;
+            }
+            bucketSizes[bucket] = 0;
+            
+            for (int slot = from; slot < to; slot++) {
+                Item item = store.getItemAt(slot);
+                int quantity = distribution.sample(random, item.getDailyDemand());
+                int stock = item.getCurrentStock();
+                int sale = Math.min(stock, quantity);
+                // Record the full demand: history should reflect demand, not censored sales
+                manager.recordDailySales(item, quantity);
+                demand += quantity;
+                sold += sale;
+                if (quantity > sale) {
+                    lost += quantity - sale;
+                    stockoutItems++;
+                }
+                holdingCost += (stock - sale) * item.getUnitCost() * item.getHoldingCostRate() / 365.0;
+            }
+        }
+        
+        void order(int day, List<InventoryManager.ReplenishmentDecision> decisions) {
+            for (int slot = from; slot < to; slot++) {
+                InventoryManager.ReplenishmentDecision decision = decisions.get(slot);
+                if (!decision.needsReorder || decision.orderQuantity <= 0) continue;
+                Item item = decision.item;
+                if (item.getCurrentStock() + onOrder[slot] > decision.reorderPoint) continue;
+                
+                int arrival = (day + Math.max(1, item.getLeadTime())) % bucketSizes.length;
+                schedule(arrival, slot, decision.orderQuantity);
+                onOrder[slot] += decision.orderQuantity;
+                manager.submitOrder(item, decision.orderQuantity);
+                orders++;
+                orderingCost += item.getOrderingCost();
+            }
+        }
+        
+        private void schedule(int bucket, int slot, int quantity) {
+            int size = bucketSizes[bucket];
+            if (size == bucketSlots[bucket].length) {
+                bucketSlots[bucket] = Arrays.copyOf(bucketSlots[bucket], size * 2);
+                bucketQuantities[bucket] = Arrays.copyOf(bucketQuantities[bucket], size * 2);
+            }
+            bucketSlots[bucket][size] = slot;
+            bucketQuantities[bucket][size] = quantity;
+            bucketSizes[bucket] = size + 1;
+        }
+        
+        void resetDay() {
+            demand = sold = lost = received = orders = stockoutItems = 0;
+            holdingCost = orderingCost = 0;
+        }
+    }
+    
+    /**
+     * Totals over the run plus per-day stockout and cost series
+     */
+    public static class SimulationResult {
+        public final int days;
+        public final int items;
+        public long totalDemand;
+        public long unitsSold;
+        public long lostSales;
+        public long stockoutItemDays;
+        public long ordersPlaced;
+        public long unitsReceived;
+        public long unitsInTransit;
+        public double holdingCost;
+        public double orderingCost;
+        /** Items out of stock on each day */
+        public final long[] dailyStockouts;
+        /** Holding plus ordering cost of each day */
+        public final double[] dailyCost;
+        
+        SimulationResult(int days, int items) {
+            this.days = days;
+            this.items = items;
+            this.dailyStockouts = new long[days];
+            this.dailyCost = new double[days];
+        }
+        
+        private void addDay(int day, Chunk chunk) {
+            totalDemand += chunk.demand;
+            unitsSold += chunk.sold;
+            lostSales += chunk.lost;
+            stockoutItemDays += chunk.stockoutItems;
+            ordersPlaced += chunk.orders;
+            unitsReceived += chunk.received;
+            holdingCost += chunk.holdingCost;
+            orderingCost += chunk.orderingCost;
+            dailyStockouts[day] += chunk.stockoutItems;
+            dailyCost[day] += chunk.holdingCost + chunk.orderingCost;
+        }
+        
+        /** Share of demand served from stock */
+        public double getFillRate() {
+            return totalDemand == 0 ? 1.0 : (double) unitsSold / totalDemand;
+        }
+        
+        public double getTotalCost() {
+            return holdingCost + orderingCost;
+        }
+        
+        public String toDisplayString() {
+            return String.format(
+                "Simulated %d days over %d items%n" +
+                "  Demand: %d units, sold %d, lost %d (fill rate %.2f%%)%n" +
+                "  Stockout item-days: %d%n" +
+                "  Orders placed: %d, units received %d, in transit %d%n" +
+                "  Holding cost: $%.2f, ordering cost: $%.2f, total $%.2f",
+                days, items, totalDemand, unitsSold, lostSales, getFillRate() * 100,
+                stockoutItemDays, ordersPlaced, unitsReceived, unitsInTransit,
+                holdingCost, orderingCost, getTotalCost());
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.example.inventory.core;
+
+import com.example.inventory.data.DemandDistribution;
+import com.example.inventory.model.HistoryView;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.SalesHistory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo evaluation of a PolicyConfig's service level.
+ *
+ * Each item's current state (stock, sales history, demand) is replayed through
+ * many independent scenarios of a fixed number of days. Per scenario and day:
+ * 1. Replenishments due today arrive
+ * 2. Demand is drawn around the item's daily demand; demand above stock is lost
+ * 3. The forecast, safety stock and reorder point are advanced exactly as
+ *    InventoryManager computes them, but on a private copy of the history
+ * 4. If on hand plus on order is at or below the reorder point, EOQ units are
+ *    ordered with a random lead time
+ *
+ * The policy plans with the item's lead time; actual lead times are drawn
+ * around it with the config's spread (leadTimeStdDays relative to
+ * avgLeadTimeDays), so the results show how well the safety stock covers both
+ * demand and supplier variability. Items are not modified.
+ *
+ * Work is split into fixed units of items and scenarios, each with its own
+ * SplittableRandom stream split from the seed in unit order. Units are sized
+ * from the catalog and scenario counts only, so results are reproducible for a
+ * given seed whatever the pool size.
+ */
+public class PolicyEvaluation {
+    private static final int ITEMS_PER_UNIT = 64;
+    private static final int MIN_SCENARIOS_PER_UNIT = 16;
+    // Enough units to keep any common core count busy when the catalog is small
+    private static final int TARGET_UNITS = 256;
+    // Lead times are capped this many standard deviations above the planned one
+    private static final double MAX_LEAD_TIME_SIGMAS = 4.0;
+
+    private final PolicyConfig config;
+    private final DemandDistribution distribution;
+    private final ForkJoinPool pool; // null = sequential
+    private final long seed;
+
+    public PolicyEvaluation(PolicyConfig config, DemandDistribution distribution, ForkJoinPool pool, long seed) {
+        this.config = config;
+        this.distribution = distribution;
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Replays the given number of scenarios of horizonDays days for every item.
+     * Cost is O(items * scenarios * horizonDays). Items should not change while
+     * this runs, otherwise scenarios of the same item may start from different states.
+     */
+    public EvaluationResult evaluate(List<Item> items, int scenarios, int horizonDays) {
+        if (scenarios <= 0) throw new IllegalArgumentException("scenarios must be > 0");
+        if (horizonDays <= 0) throw new IllegalArgumentException("horizonDays must be > 0");
+        int n = items.size();
+        Item[] itemArray = items.toArray(new Item[0]);
+
+        int itemUnits = (n + ITEMS_PER_UNIT - 1) / ITEMS_PER_UNIT;
+        int maxScenarioUnits = (scenarios + MIN_SCENARIOS_PER_UNIT - 1) / MIN_SCENARIOS_PER_UNIT;
+        int scenarioUnits = Math.max(1, Math.min(maxScenarioUnits, TARGET_UNITS / Math.max(1, itemUnits)));
+        int scenariosPerUnit = (scenarios + scenarioUnits - 1) / scenarioUnits;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        Unit[] units = new Unit[itemUnits * scenarioUnits];
+        int u = 0;
+        for (int i = 0; i < itemUnits; i++) {
+            for (int s = 0; s < scenarioUnits; s++) {
+                units[u++] = new Unit(itemArray,
+                        i * ITEMS_PER_UNIT, Math.min(n, (i + 1) * ITEMS_PER_UNIT),
+                        Math.min(scenarios, s * scenariosPerUnit), Math.min(scenarios, (s + 1) * scenariosPerUnit),
+                        horizonDays, root.split());
+            }
+        }
+
+        if (pool == null || units.length < 2) {
+            for (Unit unit : units) unit.run();
+        } else {
+            pool.invoke(new UnitTask(units, 0, units.length));
+        }
+
+        EvaluationResult result = new EvaluationResult(n, scenarios, horizonDays);
+        for (Unit unit : units) {
+            result.add(unit); // fixed order keeps floating-point sums reproducible
+        }
+        result.finish();
+        return result;
+    }
+
+    private static class UnitTask extends RecursiveAction {
+        private final Unit[] units;
+        private final int from, to;
+
+        UnitTask(Unit[] units, int from, int to) {
+            this.units = units;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                units[from].run();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new UnitTask(units, from, mid), new UnitTask(units, mid, to));
+        }
+    }
+
+    /**
+     * Scenarios [scenarioFrom, scenarioTo) for items [itemFrom, itemTo), with
+     * totals per item.
+     */
+    private class Unit {
+        final Item[] items;
+        final int itemFrom, itemTo;
+        final int scenarioFrom, scenarioTo;
+        final int horizonDays;
+        final SplittableRandom random;
+
+        // Totals over this unit's scenarios, indexed by item - itemFrom
+        final long[] demand, sold, stockoutDays, orders;
+        final double[] holdingCost, orderingCost;
+
+        Unit(Item[] items, int itemFrom, int itemTo, int scenarioFrom, int scenarioTo,
+             int horizonDays, SplittableRandom random) {
+            this.items = items;
+            this.itemFrom = itemFrom;
+            this.itemTo = itemTo;
+            this.scenarioFrom = scenarioFrom;
+            this.scenarioTo = scenarioTo;
+            this.horizonDays = horizonDays;
+            this.random = random;
+            int count = itemTo - itemFrom;
+            demand = new long[count];
+            sold = new long[count];
+            stockoutDays = new long[count];
+            orders = new long[count];
+            holdingCost = new double[count];
+            orderingCost = new double[count];
+        }
+
+        void run() {
+            for (int i = itemFrom; i < itemTo; i++) {
+                Scenario scenario = new Scenario(items[i], horizonDays);
+                for (int s = scenarioFrom; s < scenarioTo; s++) {
+                    scenario.run(random, this, i - itemFrom);
+                }
+            }
+        }
+    }
+
+    /**
+     * One item's starting state, replayed once per scenario. Buffers are reused
+     * across scenarios, and the history is extended in a flat array so the
+     * moving-average window and the variance window slide in O(1) per day.
+     */
+    private class Scenario {
+        private static final int HISTORY_CAPACITY = SalesHistory.DEFAULT_CAPACITY;
+
+        final int startStock;
+        final double meanDemand;
+        final int leadTime;
+        final double leadTimeStd;
+        final int maxLeadTime;
+        final double orderingCostPerOrder;
+        final double dailyHoldingCost;
+
+        // Starting history and the forecasting state derived from it
+        final int historySize;
+        final RunningStats startStats;
+        final long startWindowSum;
+        final double startLevel;
+        final int window;
+
+        final int[] series;   // history followed by the simulated days
+        final int[] arrivals; // units arriving on each day, past the horizon included
+
+        Scenario(Item item, int horizonDays) {
+            int[] history;
+            synchronized (item) {
+                history = item.getDailySalesHistory().toArray();
+                startStock = item.getCurrentStock();
+                meanDemand = item.getDailyDemand();
+            }
+            leadTime = item.getLeadTime();
+            leadTimeStd = config.avgLeadTimeDays > 0
+                    ? config.leadTimeStdDays * leadTime / config.avgLeadTimeDays
+                    : config.leadTimeStdDays;
+            maxLeadTime = Math.max(1, leadTime + (int) Math.ceil(MAX_LEAD_TIME_SIGMAS * leadTimeStd));
+            orderingCostPerOrder = item.getOrderingCost();
+            dailyHoldingCost = item.getAnnualHoldingCost() / 365.0;
+
+            historySize = history.length;
+            series = Arrays.copyOf(history, historySize + horizonDays);
+            arrivals = new int[horizonDays + maxLeadTime + 1];
+
+            HistoryView view = new ArrayHistory(history);
+            startStats = RunningStats.of(view);
+            startLevel = Forecasting.exponentialSmoothing(view, config.expAlpha);
+            window = Math.max(0, Math.min(config.smaWindowDays, HISTORY_CAPACITY));
+            long sum = 0;
+            for (int t = Math.max(0, historySize - window); t < historySize; t++) {
+                sum += history[t];
+            }
+            startWindowSum = sum;
+        }
+
+        void run(SplittableRandom random, Unit totals, int index) {
+            boolean sma = config.forecastingMethod == Forecasting.Method.SMA;
+            double alpha = config.expAlpha;
+            double evictionWeight = Math.pow(1 - alpha, HISTORY_CAPACITY);
+            RunningStats stats = startStats.copy();
+            long windowSum = startWindowSum;
+            double level = startLevel;
+            int stock = startStock;
+            int onOrder = 0;
+            Arrays.fill(arrivals, 0);
+
+            long demandTotal = 0, soldTotal = 0, stockouts = 0, orders = 0;
+            double holding = 0;
+            int horizonDays = series.length - historySize;
+            for (int day = 0; day < horizonDays; day++) {
+                int arriving = arrivals[day];
+                stock += arriving;
+                onOrder -= arriving;
+
+                int demand = distribution.sample(random, meanDemand);
+                int sale = Math.min(stock, demand);
+                stock -= sale;
+                demandTotal += demand;
+                soldTotal += sale;
+                if (demand > sale) stockouts++;
+                holding += stock * dailyHoldingCost;
+
+                // Record the full demand, as the manager's history would, and slide the windows
+                int t = historySize + day;
+                series[t] = demand;
+                stats.add(demand);
+                if (t >= HISTORY_CAPACITY) stats.remove(series[t - HISTORY_CAPACITY]);
+                windowSum += demand;
+                if (t >= window) windowSum -= series[t - window];
+                level = t == 0 ? demand : alpha * demand + (1 - alpha) * level;
+                if (t >= HISTORY_CAPACITY) {
+                    // The item's level follows its 90-day window; see Item.advanceSmoothing
+                    level += evictionWeight * (series[t - HISTORY_CAPACITY + 1] - series[t - HISTORY_CAPACITY]);
+                }
+
+                // Same (s, Q) rule as InventoryManager, against the inventory position
+                double forecast = sma ? (window == 0 ? 0.0 : (double) windowSum / Math.min(window, t + 1)) : level;
+                int safetyStock = Policies.computeSafetyStock(stats.stdDev(), config.zServiceLevel, leadTime);
+                int reorderPoint = Policies.computeReorderPoint(forecast, leadTime, safetyStock);
+                if (stock + onOrder <= reorderPoint) {
+                    int quantity = Policies.computeEOQ(forecast * 365.0, orderingCostPerOrder, dailyHoldingCost);
+                    if (quantity > 0) {
+                        arrivals[day + sampleLeadTime(random)] += quantity;
+                        onOrder += quantity;
+                        orders++;
+                    }
+                }
+            }
+
+            totals.demand[index] += demandTotal;
+            totals.sold[index] += soldTotal;
+            totals.stockoutDays[index] += stockouts;
+            totals.orders[index] += orders;
+            totals.holdingCost[index] += holding;
+            totals.orderingCost[index] += orders * orderingCostPerOrder;
+        }
+
+        private int sampleLeadTime(SplittableRandom random) {
+            if (leadTimeStd <= 0) return Math.max(1, leadTime);
+            int days = (int) Math.round(leadTime + gaussian(random) * leadTimeStd);
+            return Math.max(1, Math.min(maxLeadTime, days));
+        }
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+
+    private static final class ArrayHistory implements HistoryView {
+        private final int[] values;
+        private final long sum;
+        private final long sumOfSquares;
+
+        ArrayHistory(int[] values) {
+            this.values = values;
+            long s = 0, sq = 0;
+            for (int v : values) {
+                s += v;
+                sq += (long) v * v;
+            }
+            this.sum = s;
+            this.sumOfSquares = sq;
+        }
+
+        @Override public int size() { return values.length; }
+        @Override public int get(int index) { return values[index]; }
+        @Override public long sum() { return sum; }
+        @Override public long sumOfSquares() { return sumOfSquares; }
+    }
+
+    /**
+     * Catalog totals over all scenarios plus per-item averages per scenario
+     */
+    public static class EvaluationResult {
+        public final int items;
+        public final int scenarios;
+        public final int horizonDays;
+        public long totalDemand;
+        public long unitsSold;
+        public long stockoutDays;
+        public long ordersPlaced;
+        public double holdingCost;
+        public double orderingCost;
+        /** Share of each item's demand served from stock, over all its scenarios */
+        public final double[] itemFillRate;
+        /** Mean stockout days per scenario of each item */
+        public final double[] itemStockoutDays;
+        /** Mean holding plus ordering cost per scenario of each item */
+        public final double[] itemCost;
+
+        private final long[] itemDemand;
+        private final long[] itemSold;
+
+        EvaluationResult(int items, int scenarios, int horizonDays) {
+            this.items = items;
+            this.scenarios = scenarios;
+            this.horizonDays = horizonDays;
+            this.itemFillRate = new double[items];
+            this.itemStockoutDays = new double[items];
+            this.itemCost = new double[items];
+            this.itemDemand = new long[items];
+            this.itemSold = new long[items];
+        }
+
+        private void add(Unit unit) {
+            for (int k = 0; k < unit.itemTo - unit.itemFrom; k++) {
+                int i = unit.itemFrom + k;
+                itemDemand[i] += unit.demand[k];
+                itemSold[i] += unit.sold[k];
+                itemStockoutDays[i] += unit.stockoutDays[k];
+                itemCost[i] += unit.holdingCost[k] + unit.orderingCost[k];
+                totalDemand += unit.demand[k];
+                unitsSold += unit.sold[k];
+                stockoutDays += unit.stockoutDays[k];
+                ordersPlaced += unit.orders[k];
+                holdingCost += unit.holdingCost[k];
+                orderingCost += unit.orderingCost[k];
+            }
+        }
+
+        private void finish() {
+            for (int i = 0; i < items; i++) {
+                itemFillRate[i] = itemDemand[i] == 0 ? 1.0 : (double) itemSold[i] / itemDemand[i];
+                itemStockoutDays[i] /= scenarios;
+                itemCost[i] /= scenarios;
+            }
+        }
+
+        /** Share of demand served from stock */
+        public double getFillRate() {
+            return totalDemand == 0 ? 1.0 : (double) unitsSold / totalDemand;
+        }
+
+        /** Share of item-days with unmet demand */
+        public double getStockoutRate() {
+            long itemDays = (long) items * scenarios * horizonDays;
+            return itemDays == 0 ? 0.0 : (double) stockoutDays / itemDays;
+        }
+
+        public double getTotalCost() {
+            return holdingCost + orderingCost;
+        }
+
+        /** Mean holding plus ordering cost of the whole catalog over one scenario */
+        public double getCostPerScenario() {
+            return getTotalCost() / scenarios;
+        }
+
+        public String toDisplayString() {
+            return String.format(
+                "Evaluated %d scenarios of %d days over %d items%n" +
+                "  Fill rate: %.2f%%, stockout item-days: %.2f%%%n" +
+                "  Orders per scenario: %.1f%n" +
+                "  Cost per scenario: holding $%.2f + ordering $%.2f = $%.2f",
+                scenarios, horizonDays, items,
+                getFillRate() * 100, getStockoutRate() * 100,
+                (double) ordersPlaced / scenarios,
+                holdingCost / scenarios, orderingCost / scenarios, getCostPerScenario());
+        }
+    }
+}
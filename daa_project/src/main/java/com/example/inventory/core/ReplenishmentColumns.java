@@ -0,0 +1,45 @@
+package com.example.inventory.core;
+
+/**
+ * Replenishment decisions for a columnar store sweep, one array slot per row.
+ * Column counterpart of InventoryManager.ReplenishmentDecision that avoids
+ * allocating one object per item; can be reused across sweeps.
+ */
+public class ReplenishmentColumns {
+    public final double[] forecastedDemand;
+    public final int[] safetyStock;
+    public final int[] reorderPoint;
+    public final int[] orderQuantity;
+    public final boolean[] needsReorder;
+    private int size;
+    private int reorderCount;
+
+    public ReplenishmentColumns(int capacity) {
+        this.forecastedDemand = new double[capacity];
+        this.safetyStock = new int[capacity];
+        this.reorderPoint = new int[capacity];
+        this.orderQuantity = new int[capacity];
+        this.needsReorder = new boolean[capacity];
+    }
+
+    public int capacity() { return needsReorder.length; }
+    public int size() { return size; }
+    public int getReorderCount() { return reorderCount; }
+
+    void reset(int size) {
+        this.size = size;
+        this.reorderCount = 0;
+    }
+
+    void setReorderCount(int reorderCount) {
+        this.reorderCount = reorderCount;
+    }
+
+    void set(int row, double forecast, int ss, int rop, int qty, boolean reorder) {
+        forecastedDemand[row] = forecast;
+        safetyStock[row] = ss;
+        reorderPoint[row] = rop;
+        orderQuantity[row] = qty;
+        needsReorder[row] = reorder;
+    }
+}
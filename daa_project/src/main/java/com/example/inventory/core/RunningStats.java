@@ -0,0 +1,93 @@
+package com.example.inventory.core;
+
+import com.example.inventory.model.HistoryView;
+
+/**
+ * Streaming mean/variance accumulator using Welford's method.
+ * - add: O(1) update with a new observation
+ * - remove: O(1) reverse update, used to evict the oldest day of a sliding window
+ * - merge: combine partial states (Chan et al.), e.g. from parallel chunks
+ */
+public final class RunningStats {
+    private long count;
+    private double mean;
+    private double m2; // sum of squared deviations from the mean
+
+    public RunningStats() {}
+
+    private RunningStats(long count, double mean, double m2) {
+        this.count = count;
+        this.mean = mean;
+        this.m2 = m2;
+    }
+
+    public static RunningStats of(HistoryView values) {
+        RunningStats stats = new RunningStats();
+        for (int i = 0; i < values.size(); i++) {
+            stats.add(values.get(i));
+        }
+        return stats;
+    }
+
+    public void add(double x) {
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+    }
+
+    /**
+     * Removes an observation previously added, typically the oldest value of a window.
+     */
+    public void remove(double x) {
+        if (count == 0) throw new IllegalStateException("no observations to remove");
+        if (count == 1) {
+            clear();
+            return;
+        }
+        double oldMean = mean;
+        count--;
+        mean = oldMean - (x - oldMean) / count;
+        m2 -= (x - oldMean) * (x - mean);
+        if (m2 < 0) m2 = 0; // guard against rounding drift
+    }
+
+    public void merge(RunningStats other) {
+        if (other.count == 0) return;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            return;
+        }
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / n;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / n);
+        count = n;
+    }
+
+    public void clear() {
+        count = 0;
+        mean = 0.0;
+        m2 = 0.0;
+    }
+
+    public RunningStats copy() {
+        return new RunningStats(count, mean, m2);
+    }
+
+    public long getCount() { return count; }
+    public double getMean() { return mean; }
+
+    /**
+     * Sample variance (n - 1 denominator), matching Forecasting.stdDev.
+     */
+    public double variance() {
+        return count == 0 ? 0.0 : m2 / Math.max(1, count - 1);
+    }
+
+    public double stdDev() {
+        return Math.sqrt(variance());
+    }
+}
@@ -0,0 +1,437 @@
+package com.example.inventory.data;
+
+import com.example.inventory.model.HistoryView;
+import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryStore;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import/export of the item master together with sales history.
+ *
+ * Files are memory-mapped in chunks and the chunks are parsed in parallel;
+ * numbers are parsed straight from the mapped bytes, so the only String
+ * allocated per item is its name. Items are added to the store in file order.
+ *
+ * CSV: one item per line,
+ *   itemID,name,currentStock,dailyDemand,leadTime,reorderLevel,unitCost,orderingCost,holdingCostRate[,sales...]
+ * where the optional trailing columns are daily sales, oldest first. The first
+ * line is skipped as a header if it starts with a letter, and lines starting
+ * with '#' are skipped; any other line that does not parse is an error. Names
+ * may be double-quoted, with "" for a literal quote. Integers must fit in an int.
+ *
+ * Binary: magic "INVB", version, then blocks of [itemCount][byteLength][items];
+ * each item is itemID, currentStock (int), dailyDemand (double), leadTime,
+ * reorderLevel (int), unitCost, orderingCost, holdingCostRate (double),
+ * name (u16 length + UTF-8), sales (count + ints). Big-endian.
+ */
+public final class BulkItemLoader {
+    private BulkItemLoader() {}
+
+    private static final int BINARY_MAGIC = 0x494E5642; // "INVB"
+    private static final int BINARY_VERSION = 1;
+    private static final int ITEMS_PER_BLOCK = 4096;
+    private static final long CSV_CHUNK_BYTES = 8L * 1024 * 1024;
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    /**
+     * Loads a CSV file into the store and returns the number of items added.
+     */
+    public static int loadCsv(Path path, InventoryStore store) throws IOException {
+        List<Item> items = readCsv(path);
+        store.addItems(items);
+        return items.size();
+    }
+
+    /**
+     * Loads a binary file into the store and returns the number of items added.
+     */
+    public static int loadBinary(Path path, InventoryStore store) throws IOException {
+        List<Item> items = readBinary(path);
+        store.addItems(items);
+        return items.size();
+    }
+
+    public static List<Item> readCsv(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<long[]> chunks = csvChunks(channel);
+            return parseInParallel(chunks, chunk -> parseCsvChunk(map(channel, chunk[0], chunk[1]), chunk[0]));
+        }
+    }
+
+    public static List<Item> readBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<long[]> blocks = binaryBlocks(channel);
+            return parseInParallel(blocks, block -> parseBinaryBlock(map(channel, block[0], block[1]), (int) block[2]));
+        }
+    }
+
+    public static void writeCsv(Path path, List<Item> items) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 16)) {
+            out.write("itemID,name,currentStock,dailyDemand,leadTime,reorderLevel,unitCost,orderingCost,holdingCostRate,sales...\n");
+            StringBuilder line = new StringBuilder(512);
+            for (Item item : items) {
+                line.setLength(0);
+                line.append(item.getItemID()).append(',');
+                appendCsvName(line, item.getName());
+                line.append(',').append(item.getCurrentStock())
+                    .append(',').append(item.getDailyDemand())
+                    .append(',').append(item.getLeadTime())
+                    .append(',').append(item.getReorderLevel())
+                    .append(',').append(item.getUnitCost())
+                    .append(',').append(item.getOrderingCost())
+                    .append(',').append(item.getHoldingCostRate());
+                HistoryView history = item.getDailySalesHistory();
+                for (int i = 0; i < history.size(); i++) {
+                    line.append(',').append(history.get(i));
+                }
+                line.append('\n');
+                out.append(line);
+            }
+        }
+    }
+
+    public static void writeBinary(Path path, List<Item> items) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(BINARY_MAGIC);
+            out.writeInt(BINARY_VERSION);
+            ByteBuffer block = ByteBuffer.allocate(1 << 20);
+            for (int start = 0; start < items.size(); start += ITEMS_PER_BLOCK) {
+                int end = Math.min(items.size(), start + ITEMS_PER_BLOCK);
+                block.clear();
+                for (int i = start; i < end; i++) {
+                    block = putBinaryItem(block, items.get(i));
+                }
+                out.writeInt(end - start);
+                out.writeInt(block.position());
+                out.write(block.array(), 0, block.position());
+            }
+        }
+    }
+
+    private interface ChunkParser {
+        List<Item> parse(long[] chunk) throws IOException;
+    }
+
+    private static List<Item> parseInParallel(List<long[]> chunks, ChunkParser parser) {
+        List<List<Item>> parsed = chunks.parallelStream()
+            .map(chunk -> {
+                try {
+                    return parser.parse(chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })
+            .collect(Collectors.toList()); // keeps chunk (file) order
+        int total = parsed.stream().mapToInt(List::size).sum();
+        List<Item> items = new ArrayList<>(total);
+        parsed.forEach(items::addAll);
+        return items;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long start, long length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+    }
+
+    // ---- CSV ----
+
+    /**
+     * Splits the file into [start, length] ranges of about CSV_CHUNK_BYTES that end on a newline.
+     */
+    private static List<long[]> csvChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + CSV_CHUNK_BYTES);
+            // Extend to just past the next newline so no line straddles two chunks
+            while (end < size) {
+                probe.clear();
+                int n = channel.read(probe, end);
+                if (n <= 0) {
+                    end = size;
+                    break;
+                }
+                int newline = -1;
+                for (int i = 0; i < n; i++) {
+                    if (probe.get(i) == '\n') {
+                        newline = i;
+                        break;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end += n;
+            }
+            chunks.add(new long[] {start, end - start});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static List<Item> parseCsvChunk(ByteBuffer buf, long fileOffset) {
+        List<Item> items = new ArrayList<>();
+        int[] fieldStart = new int[16];
+        int[] fieldEnd = new int[16];
+        int limit = buf.limit();
+        int pos = 0;
+        while (pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && buf.get(lineEnd) != '\n') lineEnd++;
+            int contentEnd = lineEnd;
+            if (contentEnd > pos && buf.get(contentEnd - 1) == '\r') contentEnd--;
+            boolean header = fileOffset + pos == 0 && isLetter(buf.get(pos));
+            if (contentEnd > pos && !header && buf.get(pos) != '#') {
+                // Split into fields, honouring a quoted name
+                int fields = 0;
+                int i = pos;
+                while (true) {
+                    if (fields == fieldStart.length) {
+                        fieldStart = Arrays.copyOf(fieldStart, fields * 2);
+                        fieldEnd = Arrays.copyOf(fieldEnd, fields * 2);
+                    }
+                    fieldStart[fields] = i;
+                    if (i < contentEnd && buf.get(i) == '"') {
+                        i++;
+                        while (i < contentEnd && !(buf.get(i) == '"' && (i + 1 >= contentEnd || buf.get(i + 1) != '"'))) {
+                            i += buf.get(i) == '"' ? 2 : 1;
+                        }
+                        i++; // closing quote
+                    }
+                    while (i < contentEnd && buf.get(i) != ',') i++;
+                    fieldEnd[fields++] = i;
+                    if (i >= contentEnd) break;
+                    i++;
+                }
+                if (fields < 9) {
+                    throw malformed(fileOffset + pos, "expected at least 9 fields, found " + fields);
+                }
+                int[] history = new int[fields - 9];
+                for (int f = 9; f < fields; f++) {
+                    history[f - 9] = parseInt(buf, fieldStart[f], fieldEnd[f], fileOffset);
+                }
+                items.add(new Item(
+                    parseInt(buf, fieldStart[0], fieldEnd[0], fileOffset),
+                    parseName(buf, fieldStart[1], fieldEnd[1]),
+                    parseInt(buf, fieldStart[2], fieldEnd[2], fileOffset),
+                    parseDouble(buf, fieldStart[3], fieldEnd[3], fileOffset),
+                    parseInt(buf, fieldStart[4], fieldEnd[4], fileOffset),
+                    parseInt(buf, fieldStart[5], fieldEnd[5], fileOffset),
+                    parseDouble(buf, fieldStart[6], fieldEnd[6], fileOffset),
+                    parseDouble(buf, fieldStart[7], fieldEnd[7], fileOffset),
+                    parseDouble(buf, fieldStart[8], fieldEnd[8], fileOffset),
+                    history));
+            }
+            pos = lineEnd + 1;
+        }
+        return items;
+    }
+
+    private static boolean isLetter(byte b) {
+        return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z');
+    }
+
+    private static int parseInt(ByteBuffer buf, int start, int end, long fileOffset) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')) {
+            negative = buf.get(i) == '-';
+            i++;
+        }
+        if (i == end) throw malformed(fileOffset + start, "empty number");
+        long value = 0;
+        long max = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (; i < end; i++) {
+            int digit = buf.get(i) - '0';
+            if (digit < 0 || digit > 9) throw malformed(fileOffset + start, "invalid integer");
+            value = value * 10 + digit;
+            if (value > max) throw malformed(fileOffset + start, "integer out of range");
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Decimal parser for plain "[-]digits[.digits]" values. When the digits fit in
+     * 2^53 and there are at most 22 fractional digits, mantissa / 10^scale is a
+     * single correctly rounded division, so the result equals Double.parseDouble.
+     * Anything else (exponents, very long mantissas) falls back to Double.parseDouble.
+     */
+    private static double parseDouble(ByteBuffer buf, int start, int end, long fileOffset) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')) {
+            negative = buf.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            byte b = buf.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || digits >= 16) {
+                return slowParseDouble(buf, start, end, fileOffset);
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (scale >= 0) scale++;
+        }
+        if (digits == 0) throw malformed(fileOffset + start, "empty number");
+        if (scale <= 0) {
+            scale = 0;
+        } else if (scale >= POWERS_OF_TEN.length || mantissa >= (1L << 53)) {
+            return slowParseDouble(buf, start, end, fileOffset);
+        }
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    private static double slowParseDouble(ByteBuffer buf, int start, int end, long fileOffset) {
+        try {
+            return Double.parseDouble(decode(buf, start, end));
+        } catch (NumberFormatException e) {
+            throw malformed(fileOffset + start, "invalid number");
+        }
+    }
+
+    private static String parseName(ByteBuffer buf, int start, int end) {
+        if (end - start >= 2 && buf.get(start) == '"' && buf.get(end - 1) == '"') {
+            return decode(buf, start + 1, end - 1).replace("\"\"", "\"");
+        }
+        return decode(buf, start, end);
+    }
+
+    private static String decode(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void appendCsvName(StringBuilder line, String name) {
+        if (name.indexOf(',') < 0 && name.indexOf('"') < 0) {
+            line.append(name);
+            return;
+        }
+        line.append('"').append(name.replace("\"", "\"\"")).append('"');
+    }
+
+    private static IllegalArgumentException malformed(long offset, String reason) {
+        return new IllegalArgumentException("Malformed item record at byte offset " + offset + ": " + reason);
+    }
+
+    // ---- Binary ----
+
+    /**
+     * Reads only the block headers and returns [start, length, itemCount] per block.
+     */
+    private static List<long[]> binaryBlocks(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8);
+        readFully(channel, header, 0);
+        if (header.getInt(0) != BINARY_MAGIC) throw new IOException("not a binary item file");
+        if (header.getInt(4) != BINARY_VERSION) throw new IOException("unsupported item file version " + header.getInt(4));
+        List<long[]> blocks = new ArrayList<>();
+        long pos = 8;
+        long size = channel.size();
+        while (pos < size) {
+            header.clear();
+            readFully(channel, header, pos);
+            int count = header.getInt(0);
+            int length = header.getInt(4);
+            if (count < 0 || length < 0 || pos + 8 + length > size) {
+                throw new IOException("truncated item file at byte offset " + pos);
+            }
+            blocks.add(new long[] {pos + 8, length, count});
+            pos += 8L + length;
+        }
+        return blocks;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                throw new IOException("unexpected end of item file");
+            }
+        }
+    }
+
+    private static List<Item> parseBinaryBlock(ByteBuffer buf, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            int itemID = buf.getInt();
+            int stock = buf.getInt();
+            double dailyDemand = buf.getDouble();
+            int leadTime = buf.getInt();
+            int reorderLevel = buf.getInt();
+            double unitCost = buf.getDouble();
+            double orderingCost = buf.getDouble();
+            double holdingCostRate = buf.getDouble();
+            byte[] name = new byte[buf.getShort() & 0xFFFF];
+            buf.get(name);
+            int[] history = new int[buf.getInt()];
+            for (int i = 0; i < history.length; i++) {
+                history[i] = buf.getInt();
+            }
+            items.add(new Item(itemID, new String(name, StandardCharsets.UTF_8), stock, dailyDemand,
+                    leadTime, reorderLevel, unitCost, orderingCost, holdingCostRate, history));
+        }
+        return items;
+    }
+
+    private static ByteBuffer putBinaryItem(ByteBuffer block, Item item) {
+        byte[] name = item.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) throw new IllegalArgumentException("item name too long: " + item.getItemID());
+        HistoryView history = item.getDailySalesHistory();
+        int length = 4 * 4 + 8 * 4 + 2 + name.length + 4 + 4 * history.size();
+        if (block.remaining() < length) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(block.capacity() * 2, block.position() + length));
+            block.flip();
+            bigger.put(block);
+            block = bigger;
+        }
+        block.putInt(item.getItemID())
+             .putInt(item.getCurrentStock())
+             .putDouble(item.getDailyDemand())
+             .putInt(item.getLeadTime())
+             .putInt(item.getReorderLevel())
+             .putDouble(item.getUnitCost())
+             .putDouble(item.getOrderingCost())
+             .putDouble(item.getHoldingCostRate())
+             .putShort((short) name.length)
+             .put(name)
+             .putInt(history.size());
+        for (int i = 0; i < history.size(); i++) {
+            block.putInt(history.get(i));
+        }
+        return block;
+    }
+}
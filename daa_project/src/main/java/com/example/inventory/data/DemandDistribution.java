@@ -0,0 +1,59 @@
+package com.example.inventory.data;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shapes of simulated daily unit sales around an item's mean daily demand.
+ */
+public enum DemandDistribution {
+    /** Mean +/- 15%, the same spread the sample data has always used */
+    UNIFORM {
+        @Override
+        public int sample(SplittableRandom random, double mean) {
+            return Math.max(0, (int) (mean + random.nextDouble() * mean * 0.3 - mean * 0.15));
+        }
+    },
+    /** Normal with a 30% coefficient of variation, truncated at 0 */
+    NORMAL {
+        @Override
+        public int sample(SplittableRandom random, double mean) {
+            return Math.max(0, (int) Math.round(mean + gaussian(random) * mean * 0.3));
+        }
+    },
+    /** Poisson arrivals of single units, typical for slow movers */
+    POISSON {
+        @Override
+        public int sample(SplittableRandom random, double mean) {
+            if (mean <= 0) return 0;
+            if (mean > 30) {
+                // Normal approximation keeps large means O(1)
+                return Math.max(0, (int) Math.round(mean + gaussian(random) * Math.sqrt(mean)));
+            }
+            double limit = Math.exp(-mean);
+            double product = random.nextDouble();
+            int k = 0;
+            while (product > limit) {
+                product *= random.nextDouble();
+                k++;
+            }
+            return k;
+        }
+    },
+    /** Sells on about 30% of days, in bursts that keep the same long-run mean */
+    INTERMITTENT {
+        @Override
+        public int sample(SplittableRandom random, double mean) {
+            if (random.nextDouble() >= 0.3) return 0;
+            return POISSON.sample(random, mean / 0.3);
+        }
+    };
+
+    public abstract int sample(SplittableRandom random, double mean);
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
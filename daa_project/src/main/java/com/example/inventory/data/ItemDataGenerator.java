@@ -4,12 +4,22 @@ import com.example.inventory.model.Item;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * Generates 50 sample items for the inventory store
+ * Generates 50 sample items for the inventory store, and seeded synthetic
+ * catalogs of any size for load tests and simulations
  */
 public class ItemDataGenerator {
     
+    /** Items per generation chunk; each chunk gets its own random stream */
+    private static final int CHUNK_SIZE = 8_192;
+    private static final int SAMPLE_HISTORY_DAYS = 30;
+    
     // Item names for a retail/candy store
     private static final String[] ITEM_NAMES = {
         "Chocolate Bar", "Candy Cane", "Lollipop", "Gummy Bears", "Jelly Beans",
@@ -25,34 +35,104 @@ public class ItemDataGenerator {
     };
     
     public static List<Item> generate50Items() {
+        return generate50Items(System.nanoTime());
+    }
+    
+    /**
+     * Same sample catalog as generate50Items(), reproducible for a given seed.
+     */
+    public static List<Item> generate50Items(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
         List<Item> items = new ArrayList<>();
         
         // First 3 items match the specification exactly
-        items.add(new Item(1, "Chocolate Bar", 50, 5.0, 7, 20, 2.50, 25.0, 0.20));
-        items.add(new Item(2, "Candy Cane", 30, 3.0, 5, 15, 1.50, 25.0, 0.20));
-        items.add(new Item(3, "Lollipop", 80, 8.0, 10, 40, 0.75, 25.0, 0.20));
+        items.add(new Item(1, "Chocolate Bar", 50, 5.0, 7, 20, 2.50, 25.0, 0.20,
+                history(random, 5.0, SAMPLE_HISTORY_DAYS, DemandDistribution.UNIFORM)));
+        items.add(new Item(2, "Candy Cane", 30, 3.0, 5, 15, 1.50, 25.0, 0.20,
+                history(random, 3.0, SAMPLE_HISTORY_DAYS, DemandDistribution.UNIFORM)));
+        items.add(new Item(3, "Lollipop", 80, 8.0, 10, 40, 0.75, 25.0, 0.20,
+                history(random, 8.0, SAMPLE_HISTORY_DAYS, DemandDistribution.UNIFORM)));
         
         // Generate remaining 47 items with varied parameters
         for (int i = 4; i <= 50; i++) {
-            String name = ITEM_NAMES[(i - 1) % ITEM_NAMES.length];
-            
-            // Vary the parameters realistically
-            int currentStock = 20 + (int)(Math.random() * 100); // 20-120 units
-            double dailyDemand = 2.0 + Math.random() * 10.0; // 2-12 units/day
-            int leadTime = 3 + (int)(Math.random() * 10); // 3-13 days
-            int reorderLevel = (int)(dailyDemand * leadTime * 1.2); // ~20% buffer
-            
-            double unitCost = 0.50 + Math.random() * 5.0; // $0.50 - $5.50
-            double orderingCost = 20.0 + Math.random() * 10.0; // $20 - $30
-            double holdingCostRate = 0.15 + Math.random() * 0.15; // 15% - 30%
-            
-            items.add(new Item(i, name, currentStock, dailyDemand, leadTime, 
-                             reorderLevel, unitCost, orderingCost, holdingCostRate));
+            items.add(randomItem(random, i, SAMPLE_HISTORY_DAYS, DemandDistribution.UNIFORM));
         }
         
         return items;
     }
+    
+    /**
+     * Generates a synthetic catalog with ItemIDs 1..count, in parallel.
+     * The catalog is split into fixed-size chunks and each chunk draws from its own
+     * SplittableRandom, split off the seed in chunk order, so the output depends
+     * only on the arguments and not on thread scheduling.
+     *
+     * @param historyDays days of sales history to generate per item
+     * @param distribution shape of each day's sales around the item's daily demand
+     */
+    public static List<Item> generate(long seed, int count, int historyDays, DemandDistribution distribution) {
+        List<Item> items = new ArrayList<>(Math.max(count, 0));
+        generate(seed, count, historyDays, distribution, items::add);
+        return items;
+    }
+    
+    /**
+     * Same catalog as generate(seed, count, historyDays, distribution), handed
+     * to sink in ID order a few chunks at a time, so a caller that copies the
+     * items elsewhere never holds the whole catalog as objects.
+     */
+    public static void generate(long seed, int count, int historyDays, DemandDistribution distribution,
+                                Consumer<Item> sink) {
+        if (count < 0) throw new IllegalArgumentException("count must be >= 0");
+        if (historyDays < 0) throw new IllegalArgumentException("historyDays must be >= 0");
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            streams[c] = root.split();
+        }
+        
+        // Chunks are generated in parallel, a batch at a time, and delivered in order
+        int batch = 4 * ForkJoinPool.getCommonPoolParallelism();
+        for (int from = 0; from < chunks; from += batch) {
+            List<List<Item>> parts = IntStream.range(from, Math.min(chunks, from + batch)).parallel()
+                .mapToObj(c -> {
+                    int first = c * CHUNK_SIZE + 1;
+                    int last = Math.min(count, first + CHUNK_SIZE - 1);
+                    List<Item> part = new ArrayList<>(last - first + 1);
+                    for (int id = first; id <= last; id++) {
+                        part.add(randomItem(streams[c], id, historyDays, distribution));
+                    }
+                    return part;
+                })
+                .collect(Collectors.toList());
+            parts.forEach(part -> part.forEach(sink));
+        }
+    }
+    
+    private static Item randomItem(SplittableRandom random, int id, int historyDays, DemandDistribution distribution) {
+        String name = ITEM_NAMES[(id - 1) % ITEM_NAMES.length];
+        
+        // Vary the parameters realistically
+        int currentStock = 20 + random.nextInt(100); // 20-120 units
+        double dailyDemand = 2.0 + random.nextDouble() * 10.0; // 2-12 units/day
+        int leadTime = 3 + random.nextInt(10); // 3-13 days
+        int reorderLevel = (int)(dailyDemand * leadTime * 1.2); // ~20% buffer
+        
+        double unitCost = 0.50 + random.nextDouble() * 5.0; // $0.50 - $5.50
+        double orderingCost = 20.0 + random.nextDouble() * 10.0; // $20 - $30
+        double holdingCostRate = 0.15 + random.nextDouble() * 0.15; // 15% - 30%
+        
+        return new Item(id, name, currentStock, dailyDemand, leadTime, reorderLevel,
+                        unitCost, orderingCost, holdingCostRate,
+                        history(random, dailyDemand, historyDays, distribution));
+    }
+    
+    private static int[] history(SplittableRandom random, double dailyDemand, int days, DemandDistribution distribution) {
+        int[] history = new int[days];
+        for (int d = 0; d < days; d++) {
+            history[d] = distribution.sample(random, dailyDemand);
+        }
+        return history;
+    }
 }
-
-
-
@@ -0,0 +1,55 @@
+package com.example.inventory.gui;
+
+import javax.swing.SwingWorker;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Computes a view's content off the event dispatch thread and applies it on
+ * the EDT, for views whose refresh is catalog-wide work.
+ *
+ * At most one computation runs at a time; requests made meanwhile fold into a
+ * single rerun once it finishes, so a burst of events costs at most two
+ * passes. Must be used on the event dispatch thread.
+ */
+class BackgroundRefresh<T> {
+    private final Supplier<T> compute;
+    private final Consumer<T> apply;
+    private boolean running;
+    private boolean pending;
+
+    BackgroundRefresh(Supplier<T> compute, Consumer<T> apply) {
+        this.compute = compute;
+        this.apply = apply;
+    }
+
+    void request() {
+        if (running) {
+            pending = true;
+            return;
+        }
+        running = true;
+        new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() {
+                return compute.get();
+            }
+
+            @Override
+            protected void done() {
+                running = false;
+                try {
+                    apply.accept(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    System.err.println("Refresh failed: " + cause);
+                }
+                if (pending) {
+                    pending = false;
+                    request();
+                }
+            }
+        }.execute();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.inventory.gui;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemChangeListener;
+import com.example.inventory.store.ChangeTracker;
+import com.example.inventory.store.InventoryStore;
+import com.example.inventory.store.ItemSearchIndex;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * Table model that reads rows straight from the store instead of copying them.
+ *
+ * Cells are produced only for the rows the table paints, so the cost of a
+ * scroll does not depend on catalog size. refresh() asks the store which items
+ * changed since the last refresh and fires row-update events for just those,
+ * plus an insert event for items added since. Optionally shows only the
+ * results of a store search, loaded a page at a time as the table scrolls
+ * toward the end of what is loaded. Must be used on the event dispatch thread.
+ */
+class InventoryTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS =
+            {"ID", "Name", "Current Stock", "Daily Demand", "Lead Time", "Reorder Level", "Unit Cost"};
+    /** Above this many separate changed runs, one event covering them all is cheaper */
+    private static final int MAX_UPDATE_EVENTS = 256;
+    /** Search results loaded per page */
+    private static final int PAGE_SIZE = 500;
+    
+    private final InventoryStore store;
+    private final ChangeTracker changes;
+    private int storeRows; // store size as of the last refresh
+    private int[] filter;  // store slots shown, ascending; null = all
+    private int filterCount;
+    private ItemSearchIndex.Cursor search; // source of further filter rows
+    private boolean loadPending;
+    
+    InventoryTableModel(InventoryStore store) {
+        this.store = store;
+        this.changes = store.openChangeTracker(EnumSet.allOf(ItemChangeListener.Change.class));
+        this.storeRows = store.getItemCount();
+    }
+    
+    /**
+     * Item shown at the given model row.
+     */
+    Item getItem(int row) {
+        return store.getItemAt(filter == null ? row : filter[row]);
+    }
+    
+    /**
+     * Shows only the results of a store search, or every item when null.
+     */
+    void setSearch(ItemSearchIndex.Cursor cursor) {
+        changes.drain(); // everything is repainted anyway
+        storeRows = store.getItemCount();
+        search = cursor;
+        filter = cursor == null ? null : new int[PAGE_SIZE];
+        filterCount = 0;
+        if (cursor != null) {
+            filterCount = cursor.next(filter);
+        }
+        fireTableDataChanged();
+    }
+    
+    boolean hasMoreResults() {
+        return search != null && search.hasMore();
+    }
+    
+    private void loadNextPage() {
+        loadPending = false;
+        if (!hasMoreResults()) return;
+        if (filterCount + PAGE_SIZE > filter.length) {
+            filter = Arrays.copyOf(filter, Math.max(filterCount + PAGE_SIZE, filter.length * 2));
+        }
+        int[] page = new int[PAGE_SIZE];
+        int n = search.next(page);
+        if (n == 0) return;
+        System.arraycopy(page, 0, filter, filterCount, n);
+        int first = filterCount;
+        filterCount += n;
+        fireTableRowsInserted(first, filterCount - 1);
+    }
+    
+    /**
+     * Fires events for items changed or added since the previous refresh.
+     */
+    void refresh() {
+        int[] changed = changes.drain();
+        int newRows = store.getItemCount();
+        int oldRows = storeRows;
+        storeRows = newRows;
+        
+        if (filter == null) {
+            fireUpdates(changed, oldRows);
+            if (newRows > oldRows) {
+                fireTableRowsInserted(oldRows, newRows - 1);
+            }
+            return;
+        }
+        // Map changed slots to filtered rows; items added since the search are not shown
+        int[] rows = new int[changed.length];
+        int n = 0;
+        for (int slot : changed) {
+            int row = Arrays.binarySearch(filter, 0, filterCount, slot);
+            if (row >= 0) rows[n++] = row;
+        }
+        fireUpdates(Arrays.copyOf(rows, n), filterCount);
+    }
+    
+    /**
+     * One update event per run of consecutive rows below limit.
+     */
+    private void fireUpdates(int[] rows, int limit) {
+        int end = 0;
+        while (end < rows.length && rows[end] < limit) end++;
+        if (end == 0) return;
+        
+        int runs = 1;
+        for (int i = 1; i < end; i++) {
+            if (rows[i] != rows[i - 1] + 1) runs++;
+        }
+        if (runs > MAX_UPDATE_EVENTS) {
+            fireTableRowsUpdated(rows[0], rows[end - 1]);
+            return;
+        }
+        int start = 0;
+        for (int i = 1; i <= end; i++) {
+            if (i == end || rows[i] != rows[i - 1] + 1) {
+                fireTableRowsUpdated(rows[start], rows[i - 1]);
+                start = i;
+            }
+        }
+    }
+    
+    @Override
+    public int getRowCount() {
+        return filter == null ? storeRows : filterCount;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (filter != null && !loadPending && row >= filterCount - PAGE_SIZE / 2 && hasMoreResults()) {
+            // Painting near the end of the loaded results: fetch the next page after this paint
+            loadPending = true;
+            SwingUtilities.invokeLater(this::loadNextPage);
+        }
+        Item item = getItem(row);
+        switch (column) {
+            case 0: return item.getItemID();
+            case 1: return item.getName();
+            case 2: return item.getCurrentStock();
+            case 3: return String.format("%.2f", item.getDailyDemand());
+            case 4: return item.getLeadTime();
+            case 5: return item.getReorderLevel();
+            case 6: return String.format("$%.2f", item.getUnitCost());
+            default: throw new IndexOutOfBoundsException("column " + column);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.inventory.gui;
+
+import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryStore;
+import com.example.inventory.store.ItemSearchIndex;
+
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+import javax.swing.SwingUtilities;
+import java.util.Arrays;
+
+/**
+ * Combo box model over the store that never copies the catalog.
+ *
+ * With no query the list is the store itself, read by slot as the popup
+ * paints. With a query it holds the search results, fetched a page at a time
+ * as the popup scrolls toward the end of what is loaded. Either way, opening
+ * or refreshing costs the same at any catalog size. The combo box should have
+ * a prototype display value so it does not measure every element. Must be
+ * used on the event dispatch thread.
+ */
+class ItemPickerModel extends AbstractListModel<Item> implements ComboBoxModel<Item> {
+    private static final int PAGE_SIZE = 200;
+    
+    private final InventoryStore store;
+    private int storeRows;           // store size as of the last refresh
+    private int[] results;           // matching slots; null = no query
+    private int resultCount;
+    private ItemSearchIndex.Cursor search;
+    private boolean loadPending;
+    private Object selected;
+    
+    ItemPickerModel(InventoryStore store) {
+        this.store = store;
+        this.storeRows = store.getItemCount();
+    }
+    
+    /**
+     * Shows the items whose name or ID contains query, or all items when empty.
+     */
+    void setQuery(String query) {
+        int oldSize = getSize();
+        storeRows = store.getItemCount();
+        if (query == null || query.isEmpty()) {
+            search = null;
+            results = null;
+            resultCount = 0;
+        } else {
+            search = store.search(query);
+            results = new int[PAGE_SIZE];
+            resultCount = search.next(results);
+        }
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (getSize() > 0) {
+            fireIntervalAdded(this, 0, getSize() - 1);
+        }
+        // Only the user picks an item: a selection no longer listed is cleared,
+        // and nothing is preselected
+        if (!isListed(selected)) {
+            setSelectedItem(null);
+        }
+    }
+    
+    /**
+     * True if the last query was asked before the search index was built, so
+     * its results are empty and it should be set again shortly.
+     */
+    boolean isSearchPending() {
+        return search != null && search.isPending();
+    }
+    
+    /**
+     * Picks up items added to the store since the last refresh when no query is set.
+     */
+    void refresh() {
+        int newRows = store.getItemCount();
+        if (results == null && newRows > storeRows) {
+            int first = storeRows;
+            storeRows = newRows;
+            fireIntervalAdded(this, first, newRows - 1);
+        }
+    }
+    
+    private boolean isListed(Object item) {
+        if (!(item instanceof Item)) return false;
+        int slot = ((Item) item).getSlot();
+        return results == null || Arrays.binarySearch(results, 0, resultCount, slot) >= 0;
+    }
+    
+    private void loadNextPage() {
+        loadPending = false;
+        if (search == null || !search.hasMore()) return;
+        if (resultCount + PAGE_SIZE > results.length) {
+            results = Arrays.copyOf(results, Math.max(resultCount + PAGE_SIZE, results.length * 2));
+        }
+        int[] page = new int[PAGE_SIZE];
+        int n = search.next(page);
+        if (n == 0) return;
+        System.arraycopy(page, 0, results, resultCount, n);
+        int first = resultCount;
+        resultCount += n;
+        fireIntervalAdded(this, first, resultCount - 1);
+    }
+    
+    @Override
+    public int getSize() {
+        return results == null ? storeRows : resultCount;
+    }
+    
+    @Override
+    public Item getElementAt(int index) {
+        if (results == null) {
+            return store.getItemAt(index);
+        }
+        if (!loadPending && index >= resultCount - PAGE_SIZE / 2 && search.hasMore()) {
+            loadPending = true;
+            SwingUtilities.invokeLater(this::loadNextPage);
+        }
+        return store.getItemAt(results[index]);
+    }
+    
+    @Override
+    public void setSelectedItem(Object item) {
+        if (item == selected) return;
+        selected = item;
+        fireContentsChanged(this, -1, -1);
+    }
+    
+    @Override
+    public Object getSelectedItem() {
+        return selected;
+    }
+}
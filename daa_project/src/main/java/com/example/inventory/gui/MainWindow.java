@@ -1,17 +1,30 @@
 package com.example.inventory.gui;
 
+import com.example.inventory.core.DecisionCache;
 import com.example.inventory.core.InventoryManager;
 import com.example.inventory.core.PolicyConfig;
 import com.example.inventory.data.ItemDataGenerator;
 import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryEventBus;
+import com.example.inventory.store.InventoryEventBus.Topic;
 import com.example.inventory.store.InventoryStore;
+import com.example.inventory.store.ItemSearchIndex;
 import com.example.inventory.util.InventoryReports;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.beans.PropertyChangeEvent;
 import java.text.DecimalFormat;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Main GUI Window for Smart Inventory Manager
@@ -19,6 +32,7 @@ import java.util.List;
 public class MainWindow extends JFrame {
     private InventoryStore store;
     private InventoryManager manager;
+    private DecisionCache decisionCache; // shared by all panels
     private PolicyConfig config;
     
     // Components
@@ -29,6 +43,22 @@ public class MainWindow extends JFrame {
     private ReplenishmentPanel replenishmentPanel;
     private ReportsPanel reportsPanel;
     
+    // Background work: at most one daily update or simulation at a time
+    private static final int SIMULATION_BATCH = 4_096;
+    private BackgroundTask<?, ?> activeWorker; // until its doInBackground has returned
+    private JLabel statusLabel;
+    private JProgressBar progressBar;
+    private JButton cancelButton;
+    
+    // Store and manager events, coalesced so a burst of changes repaints each panel once
+    private static final long EVENT_WINDOW_MILLIS = 150;
+    // Searches asked while the index is still being built are repeated after this delay
+    private static final int SEARCH_RETRY_MILLIS = 100;
+    private InventoryEventBus eventBus;
+    // Panels on hidden tabs are not refreshed; they are marked stale and refreshed when shown
+    private final Map<Component, Runnable> panelRefreshers = new HashMap<>();
+    private final Set<Component> stalePanels = new HashSet<>();
+    
     public MainWindow() {
         initializeSystem();
         initializeGUI();
@@ -36,14 +66,20 @@ public class MainWindow extends JFrame {
     
     private void initializeSystem() {
         config = PolicyConfig.defaultConfig();
-        manager = new InventoryManager(config);
+        manager = new InventoryManager(config, ForkJoinPool.commonPool(), InventoryManager.DEFAULT_PARALLEL_THRESHOLD);
         store = new InventoryStore();
+        decisionCache = new DecisionCache(manager, store);
+        eventBus = new InventoryEventBus(EVENT_WINDOW_MILLIS, SwingUtilities::invokeLater);
+        store.setEventBus(eventBus);
+        manager.setEventBus(eventBus);
         
         // Load 50 items
         List<Item> items = ItemDataGenerator.generate50Items();
         for (Item item : items) {
             store.addItem(item);
         }
+        // Build the search index off the EDT so the first keystroke does not wait for it
+        ForkJoinPool.commonPool().execute(store::buildSearchIndex);
     }
     
     private void initializeGUI() {
@@ -81,9 +117,101 @@ public class MainWindow extends JFrame {
         tabbedPane.addTab("📈 Reports", reportsPanel);
         
         add(tabbedPane);
+        add(createStatusBar(), BorderLayout.SOUTH);
+        
+        panelRefreshers.put(dashboardPanel, dashboardPanel::refresh);
+        panelRefreshers.put(inventoryTablePanel, inventoryTablePanel::refresh);
+        panelRefreshers.put(salesRecordingPanel, salesRecordingPanel::refresh);
+        panelRefreshers.put(replenishmentPanel, replenishmentPanel::refresh);
+        panelRefreshers.put(reportsPanel, reportsPanel::refresh);
+        tabbedPane.addChangeListener(e -> {
+            Component shown = tabbedPane.getSelectedComponent();
+            if (stalePanels.remove(shown)) {
+                panelRefreshers.get(shown).run();
+            }
+        });
         
-        // Refresh all panels
+        // Refresh all panels once, then only on the changes each one displays
         refreshAllPanels();
+        subscribePanels();
+        computeInitialDecisions();
+    }
+    
+    /**
+     * Runs the first daily update quietly in the background; panels show its
+     * decisions when it publishes them. Panels never compute decisions on the
+     * event dispatch thread, they only read DecisionCache.getLatest().
+     */
+    private void computeInitialDecisions() {
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                decisionCache.getDecisions();
+                return null;
+            }
+            
+            @Override
+            protected void done() {
+                decisionsPublished();
+            }
+        }.execute();
+    }
+    
+    /**
+     * Refreshes the panels that show decisions, once a worker has published new ones.
+     */
+    private void decisionsPublished() {
+        refreshWhenShown(dashboardPanel);
+        refreshWhenShown(replenishmentPanel);
+        refreshWhenShown(reportsPanel);
+    }
+    
+    private void subscribePanels() {
+        eventBus.subscribe(EnumSet.of(Topic.ITEMS_ADDED, Topic.STOCK_CHANGED, Topic.DEMAND_CHANGED,
+                Topic.REORDER_LEVEL_CHANGED, Topic.DECISIONS_UPDATED), topics -> refreshWhenShown(dashboardPanel));
+        eventBus.subscribe(EnumSet.of(Topic.ITEMS_ADDED, Topic.STOCK_CHANGED, Topic.DEMAND_CHANGED,
+                Topic.REORDER_LEVEL_CHANGED), topics -> refreshWhenShown(inventoryTablePanel));
+        eventBus.subscribe(EnumSet.of(Topic.ITEMS_ADDED), topics -> salesRecordingPanel.refresh());
+        eventBus.subscribe(EnumSet.of(Topic.STOCK_CHANGED, Topic.DECISIONS_UPDATED),
+                topics -> refreshWhenShown(replenishmentPanel));
+        // Reports are catalog-wide: regenerated for new decisions or on demand, not per sale
+        eventBus.subscribe(EnumSet.of(Topic.DECISIONS_UPDATED), topics -> refreshWhenShown(reportsPanel));
+    }
+    
+    /**
+     * Refreshes panel now if its tab is showing, otherwise when it is next selected.
+     */
+    private void refreshWhenShown(Component panel) {
+        if (tabbedPane.getSelectedComponent() == panel) {
+            panelRefreshers.get(panel).run();
+        } else {
+            stalePanels.add(panel);
+        }
+    }
+    
+    private JPanel createStatusBar() {
+        JPanel statusBar = new JPanel(new BorderLayout(10, 0));
+        statusBar.setBorder(BorderFactory.createEmptyBorder(4, 10, 4, 10));
+        statusLabel = new JLabel("Ready.");
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+        cancelButton = new JButton("Cancel");
+        cancelButton.setVisible(false);
+        cancelButton.addActionListener(e -> {
+            if (activeWorker != null) {
+                activeWorker.cancel(false); // workers poll isCancelled between batches
+                cancelButton.setText("Cancelling...");
+                cancelButton.setEnabled(false);
+            }
+        });
+        
+        JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        progressPanel.add(progressBar);
+        progressPanel.add(cancelButton);
+        statusBar.add(statusLabel, BorderLayout.CENTER);
+        statusBar.add(progressPanel, BorderLayout.EAST);
+        return statusBar;
     }
     
     private void createMenuBar() {
@@ -118,50 +246,204 @@ public class MainWindow extends JFrame {
     }
     
     private void processDailyUpdate() {
-        SwingUtilities.invokeLater(() -> {
-            manager.processDailyUpdate(store.getAllItems());
-            refreshAllPanels();
-            JOptionPane.showMessageDialog(this, 
-                "Daily update processed successfully!", 
-                "Success", 
-                JOptionPane.INFORMATION_MESSAGE);
-        });
+        if (!startBackgroundTask("Processing daily update...")) return;
+        
+        activeWorker = new BackgroundTask<List<InventoryManager.ReplenishmentDecision>, Void>() {
+            @Override
+            protected List<InventoryManager.ReplenishmentDecision> compute() {
+                return decisionCache.getDecisions(progressMonitor(this, 0, 100));
+            }
+            
+            @Override
+            protected void done() {
+                decisionsPublished();
+                finishBackgroundTask(this, "Daily update processed successfully!", "Success");
+            }
+        };
+        activeWorker.addPropertyChangeListener(this::onWorkerProgress);
+        activeWorker.execute();
     }
     
+    /**
+     * Records simulated sales in batches, then runs the daily update, off the
+     * event dispatch thread. Each finished batch is published so the table
+     * shows the new stock while the simulation runs.
+     */
     private void simulateDailyWorkflow() {
-        SwingUtilities.invokeLater(() -> {
-            List<Item> inventory = store.getAllItems();
+        if (!startBackgroundTask("Simulating daily workflow...")) return;
+        
+        activeWorker = new BackgroundTask<Void, Integer>() {
+            @Override
+            protected Void compute() {
+                List<Item> inventory = store.getAllItems();
+                
+                // Simulate sales (first half of the progress bar)
+                for (int from = 0; from < inventory.size() && !isCancelled(); from += SIMULATION_BATCH) {
+                    int to = Math.min(inventory.size(), from + SIMULATION_BATCH);
+                    for (Item item : inventory.subList(from, to)) {
+                        int sales = (int)(item.getDailyDemand() + (Math.random() * 2 - 1));
+                        sales = Math.max(0, sales);
+                        manager.recordDailySales(item, sales);
+                    }
+                    setProgress((int) (50L * to / inventory.size()));
+                    publish(to);
+                }
+                
+                // Process update (second half)
+                if (!isCancelled()) {
+                    decisionCache.getDecisions(progressMonitor(this, 50, 100));
+                }
+                return null;
+            }
             
-            // Simulate sales
-            for (Item item : inventory) {
-                int sales = (int)(item.getDailyDemand() + (Math.random() * 2 - 1));
-                sales = Math.max(0, sales);
-                manager.recordDailySales(item, sales);
+            @Override
+            protected void process(List<Integer> recorded) {
+                // Panels follow the sales through the event bus
+                statusLabel.setText("Recorded sales for " + recorded.get(recorded.size() - 1) + " items...");
             }
             
-            // Process update
-            manager.processDailyUpdate(inventory);
+            @Override
+            protected void done() {
+                decisionsPublished();
+                finishBackgroundTask(this, "Daily workflow simulation completed!", "Simulation Complete");
+            }
+        };
+        activeWorker.addPropertyChangeListener(this::onWorkerProgress);
+        activeWorker.execute();
+    }
+    
+    /**
+     * Adapts a worker to the manager's progress callback, mapping the update's
+     * progress onto [fromPercent, toPercent] of the progress bar.
+     */
+    private InventoryManager.ProgressMonitor progressMonitor(SwingWorker<?, ?> worker,
+                                                             int fromPercent, int toPercent) {
+        return new InventoryManager.ProgressMonitor() {
+            @Override
+            public void progress(int done, int total) {
+                int percent = fromPercent + (int) ((long) (toPercent - fromPercent) * done / Math.max(1, total));
+                // setProgress is protected and pool threads report here, so fire the event directly
+                worker.firePropertyChange("progress", null, percent);
+            }
             
-            refreshAllPanels();
+            @Override
+            public boolean isCancelled() {
+                return worker.isCancelled();
+            }
+        };
+    }
+    
+    /**
+     * Operation that keeps the one-at-a-time slot until its work has actually
+     * stopped. A cancelled SwingWorker runs done() at once, while doInBackground
+     * may still be recording a batch of sales or computing decisions, so the
+     * slot is released only when both done() has run and doInBackground has
+     * returned.
+     */
+    private abstract class BackgroundTask<T, V> extends SwingWorker<T, V> {
+        private boolean returned; // EDT only
+        private boolean finished; // EDT only
+        
+        protected abstract T compute() throws Exception;
+        
+        @Override
+        protected final T doInBackground() throws Exception {
+            try {
+                return compute();
+            } finally {
+                SwingUtilities.invokeLater(() -> {
+                    returned = true;
+                    if (finished) releaseBackgroundTask(this);
+                });
+            }
+        }
+    }
+    
+    private boolean startBackgroundTask(String status) {
+        if (activeWorker != null) {
             JOptionPane.showMessageDialog(this, 
-                "Daily workflow simulation completed!", 
-                "Simulation Complete", 
-                JOptionPane.INFORMATION_MESSAGE);
-        });
+                "Another operation is still running.", 
+                "Busy", 
+                JOptionPane.WARNING_MESSAGE);
+            return false;
+        }
+        statusLabel.setText(status);
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+        cancelButton.setVisible(true);
+        return true;
+    }
+    
+    private void onWorkerProgress(PropertyChangeEvent evt) {
+        if ("progress".equals(evt.getPropertyName())) {
+            // SwingWorker delivers property changes on the EDT
+            progressBar.setValue((Integer) evt.getNewValue());
+        }
+    }
+    
+    private void finishBackgroundTask(BackgroundTask<?, ?> worker, String message, String title) {
+        worker.finished = true;
+        if (worker.isCancelled()) {
+            if (worker.returned) {
+                releaseBackgroundTask(worker);
+            } else {
+                statusLabel.setText("Cancelling..."); // released once the work stops
+            }
+            return;
+        }
+        releaseBackgroundTask(worker);
+        try {
+            worker.get();
+        } catch (InterruptedException | ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            statusLabel.setText("Failed.");
+            JOptionPane.showMessageDialog(this, 
+                "Operation failed: " + cause.getMessage(), 
+                "Error", 
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        statusLabel.setText("Ready.");
+        JOptionPane.showMessageDialog(this, message, title, JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    /**
+     * Frees the slot once the worker's done() has run and its work has stopped.
+     */
+    private void releaseBackgroundTask(BackgroundTask<?, ?> worker) {
+        if (activeWorker != worker) return;
+        activeWorker = null;
+        progressBar.setVisible(false);
+        cancelButton.setVisible(false);
+        cancelButton.setText("Cancel");
+        cancelButton.setEnabled(true);
+        if (worker.isCancelled()) {
+            statusLabel.setText("Cancelled.");
+        }
     }
     
     private void refreshAllPanels() {
-        dashboardPanel.refresh();
-        inventoryTablePanel.refresh();
-        salesRecordingPanel.refresh();
-        replenishmentPanel.refresh();
-        reportsPanel.refresh();
+        for (Component panel : panelRefreshers.keySet()) {
+            refreshWhenShown(panel);
+        }
     }
     
     // Inner classes for panels
+    /**
+     * Dashboard figures that take a pass over the catalog, computed off the EDT.
+     */
+    private static class DashboardStats {
+        double totalValue;
+        boolean totalValueApproximate; // stock changed during every pass
+        long reorderCount = -1; // -1 = no decisions yet
+        String alerts;
+    }
+    
     class DashboardPanel extends JPanel {
         private JLabel totalItemsValue, lowStockValue, reorderNeededValue, totalValueValue;
         private JTextArea alertsArea;
+        private final BackgroundRefresh<DashboardStats> stats =
+                new BackgroundRefresh<>(this::computeStats, this::showStats);
         
         public DashboardPanel() {
             setLayout(new BorderLayout(10, 10));
@@ -236,37 +518,47 @@ public class MainWindow extends JFrame {
         }
         
         public void refresh() {
-            List<Item> items = store.getAllItems();
-            List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(items);
-            
-            // Update metrics
-            totalItemsValue.setText(String.valueOf(items.size()));
-            
-            long lowStockCount = items.stream()
-                .filter(item -> item.getCurrentStock() <= item.getReorderLevel())
-                .count();
-            lowStockValue.setText(String.valueOf(lowStockCount));
-            
-            long reorderCount = decisions.stream()
-                .filter(d -> d.needsReorder)
-                .count();
-            reorderNeededValue.setText(String.valueOf(reorderCount));
-            
-            double totalValue = items.stream()
+            // O(1) counts here; the rest is computed in the background
+            totalItemsValue.setText(String.valueOf(store.getItemCount()));
+            lowStockValue.setText(String.valueOf(store.getLowStockCount()));
+            stats.request();
+        }
+        
+        /** Runs off the EDT */
+        private DashboardStats computeStats() {
+            DashboardStats result = new DashboardStats();
+            // Decisions as of the last daily update; computing them here would hold up the dashboard
+            List<InventoryManager.ReplenishmentDecision> decisions = decisionCache.getLatest();
+            if (decisions != null) {
+                result.reorderCount = decisions.stream()
+                    .filter(d -> d.needsReorder)
+                    .count();
+            }
+            // Never holds up sales: while they keep coming, the total may mix moments
+            InventoryStore.Reading<Double> totalValue = store.readConsistent(snapshot -> snapshot.stream()
                 .mapToDouble(item -> item.getCurrentStock() * item.getUnitCost())
-                .sum();
-            totalValueValue.setText("$" + new DecimalFormat("#,##0.00").format(totalValue));
-            
-            // Update alerts
-            List<String> alerts = InventoryReports.generateLowStockAlerts(items);
-            alertsArea.setText(alerts.isEmpty() ? "No low stock alerts." : String.join("\n", alerts));
+                .sum());
+            result.totalValue = totalValue.value;
+            result.totalValueApproximate = !totalValue.consistent;
+            List<String> alerts = InventoryReports.generateLowStockAlerts(store);
+            result.alerts = alerts.isEmpty() ? "No low stock alerts." : String.join("\n", alerts);
+            return result;
+        }
+        
+        private void showStats(DashboardStats stats) {
+            reorderNeededValue.setText(stats.reorderCount < 0 ? "-" : String.valueOf(stats.reorderCount));
+            totalValueValue.setText((stats.totalValueApproximate ? "~$" : "$")
+                + new DecimalFormat("#,##0.00").format(stats.totalValue));
+            alertsArea.setText(stats.alerts);
         }
     }
     
     class InventoryTablePanel extends JPanel {
         private JTable table;
-        private DefaultTableModel tableModel;
+        private InventoryTableModel tableModel;
         private JTextField searchField;
+        private JLabel infoLabel;
+        private Timer searchRetry;
         
         public InventoryTablePanel() {
             setLayout(new BorderLayout(10, 10));
@@ -275,22 +567,24 @@ public class MainWindow extends JFrame {
             // Search panel
             JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
             searchPanel.add(new JLabel("Search:"));
+            searchRetry = new Timer(SEARCH_RETRY_MILLIS, e -> filterTable());
+            searchRetry.setRepeats(false);
             searchField = new JTextField(20);
             searchField.addActionListener(e -> filterTable());
+            searchField.getDocument().addDocumentListener(new DocumentListener() {
+                // Filter as the user types
+                @Override public void insertUpdate(DocumentEvent e) { filterTable(); }
+                @Override public void removeUpdate(DocumentEvent e) { filterTable(); }
+                @Override public void changedUpdate(DocumentEvent e) { filterTable(); }
+            });
             JButton searchBtn = new JButton("Search");
             searchBtn.addActionListener(e -> filterTable());
             searchPanel.add(searchField);
             searchPanel.add(searchBtn);
             add(searchPanel, BorderLayout.NORTH);
             
-            // Table
-            String[] columns = {"ID", "Name", "Current Stock", "Daily Demand", "Lead Time", "Reorder Level", "Unit Cost"};
-            tableModel = new DefaultTableModel(columns, 0) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false;
-                }
-            };
+            // Table: rows are read from the store on demand
+            tableModel = new InventoryTableModel(store);
             table = new JTable(tableModel);
             table.setFont(new Font("Segoe UI", Font.PLAIN, 12));
             table.setRowHeight(25);
@@ -306,7 +600,7 @@ public class MainWindow extends JFrame {
                         boolean hasFocus, int row, int column) {
                     Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
                     if (!isSelected) {
-                        Item item = store.getAllItems().get(row);
+                        Item item = tableModel.getItem(table.convertRowIndexToModel(row));
                         if (item.getCurrentStock() <= item.getReorderLevel()) {
                             c.setBackground(new Color(255, 200, 200));
                         } else {
@@ -321,50 +615,33 @@ public class MainWindow extends JFrame {
             add(scrollPane, BorderLayout.CENTER);
             
             // Bottom info
-            JLabel infoLabel = new JLabel("Total items: " + store.getItemCount());
+            infoLabel = new JLabel("Total items: " + store.getItemCount());
             add(infoLabel, BorderLayout.SOUTH);
         }
         
         private void filterTable() {
-            String searchText = searchField.getText().toLowerCase();
-            tableModel.setRowCount(0);
-            
-            store.getAllItems().stream()
-                .filter(item -> item.getName().toLowerCase().contains(searchText) || 
-                               String.valueOf(item.getItemID()).contains(searchText))
-                .forEach(item -> {
-                    Object[] row = {
-                        item.getItemID(),
-                        item.getName(),
-                        item.getCurrentStock(),
-                        String.format("%.2f", item.getDailyDemand()),
-                        item.getLeadTime(),
-                        item.getReorderLevel(),
-                        String.format("$%.2f", item.getUnitCost())
-                    };
-                    tableModel.addRow(row);
-                });
+            // Indexed substring search; results are paged into the model as the table scrolls
+            String searchText = searchField.getText();
+            ItemSearchIndex.Cursor cursor = searchText.isEmpty() ? null : store.search(searchText);
+            if (cursor != null && cursor.isPending()) {
+                // Index still being built: show no rows for now and ask again shortly
+                searchRetry.restart();
+            }
+            tableModel.setSearch(cursor);
         }
         
         public void refresh() {
-            tableModel.setRowCount(0);
-            store.getAllItems().forEach(item -> {
-                Object[] row = {
-                    item.getItemID(),
-                    item.getName(),
-                    item.getCurrentStock(),
-                    String.format("%.2f", item.getDailyDemand()),
-                    item.getLeadTime(),
-                    item.getReorderLevel(),
-                    String.format("$%.2f", item.getUnitCost())
-                };
-                tableModel.addRow(row);
-            });
+            // Only rows that changed since the last refresh are repainted
+            tableModel.refresh();
+            infoLabel.setText("Total items: " + store.getItemCount());
         }
     }
     
     class SalesRecordingPanel extends JPanel {
         private JComboBox<Item> itemCombo;
+        private ItemPickerModel itemPickerModel;
+        private JTextField findField;
+        private Timer queryRetry;
         private JTextField quantityField;
         private JButton recordBtn;
         private JTextArea logArea;
@@ -380,19 +657,36 @@ public class MainWindow extends JFrame {
             gbc.anchor = GridBagConstraints.WEST;
             
             gbc.gridx = 0; gbc.gridy = 0;
+            formPanel.add(new JLabel("Find (name or ID):"), gbc);
+            gbc.gridx = 1;
+            queryRetry = new Timer(SEARCH_RETRY_MILLIS, e -> updateQuery());
+            queryRetry.setRepeats(false);
+            findField = new JTextField(20);
+            findField.getDocument().addDocumentListener(new DocumentListener() {
+                @Override public void insertUpdate(DocumentEvent e) { updateQuery(); }
+                @Override public void removeUpdate(DocumentEvent e) { updateQuery(); }
+                @Override public void changedUpdate(DocumentEvent e) { updateQuery(); }
+            });
+            formPanel.add(findField, gbc);
+            
+            gbc.gridx = 0; gbc.gridy = 1;
             formPanel.add(new JLabel("Select Item:"), gbc);
             gbc.gridx = 1;
-            itemCombo = new JComboBox<>();
+            // Lazy model over the store; the prototype keeps Swing from measuring every item
+            itemPickerModel = new ItemPickerModel(store);
+            itemCombo = new JComboBox<>(itemPickerModel);
+            itemCombo.setPrototypeDisplayValue(new Item(0, "Prototype item name", 0, 0, 0, 0, 0, 0, 0));
+            itemCombo.setMaximumRowCount(15);
             itemCombo.setPreferredSize(new Dimension(300, 30));
             formPanel.add(itemCombo, gbc);
             
-            gbc.gridx = 0; gbc.gridy = 1;
+            gbc.gridx = 0; gbc.gridy = 2;
             formPanel.add(new JLabel("Quantity Sold:"), gbc);
             gbc.gridx = 1;
             quantityField = new JTextField(10);
             formPanel.add(quantityField, gbc);
             
-            gbc.gridx = 1; gbc.gridy = 2;
+            gbc.gridx = 1; gbc.gridy = 3;
             recordBtn = new JButton("Record Sale");
             recordBtn.setPreferredSize(new Dimension(150, 35));
             recordBtn.addActionListener(e -> recordSale());
@@ -409,6 +703,13 @@ public class MainWindow extends JFrame {
             add(scrollPane, BorderLayout.CENTER);
         }
         
+        private void updateQuery() {
+            itemPickerModel.setQuery(findField.getText());
+            if (itemPickerModel.isSearchPending()) {
+                queryRetry.restart(); // index still being built
+            }
+        }
+        
         private void recordSale() {
             Item item = (Item) itemCombo.getSelectedItem();
             if (item == null) {
@@ -431,7 +732,6 @@ public class MainWindow extends JFrame {
                     quantity, item.getName(), item.getItemID(), oldStock, newStock));
                 
                 quantityField.setText("");
-                refreshAllPanels();
                 
             } catch (NumberFormatException e) {
                 JOptionPane.showMessageDialog(this, "Please enter a valid positive number.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -439,14 +739,14 @@ public class MainWindow extends JFrame {
         }
         
         public void refresh() {
-            itemCombo.removeAllItems();
-            store.getAllItems().forEach(itemCombo::addItem);
+            // O(1): the model reads items from the store on demand
+            itemPickerModel.refresh();
         }
     }
     
     class ReplenishmentPanel extends JPanel {
         private JTable table;
-        private DefaultTableModel tableModel;
+        private ReplenishmentTableModel tableModel;
         private JButton processBtn, placeOrdersBtn;
         
         public ReplenishmentPanel() {
@@ -456,21 +756,15 @@ public class MainWindow extends JFrame {
             // Buttons
             JPanel buttonPanel = new JPanel(new FlowLayout());
             processBtn = new JButton("Process Daily Update");
-            processBtn.addActionListener(e -> refresh());
+            processBtn.addActionListener(e -> processDailyUpdate());
             placeOrdersBtn = new JButton("Place Orders (Auto-Replenish)");
             placeOrdersBtn.addActionListener(e -> placeOrders());
             buttonPanel.add(processBtn);
             buttonPanel.add(placeOrdersBtn);
             add(buttonPanel, BorderLayout.NORTH);
             
-            // Table
-            String[] columns = {"ID", "Name", "Stock", "Forecast/day", "Safety Stock", "ROP", "EOQ", "Status", "Order Qty"};
-            tableModel = new DefaultTableModel(columns, 0) {
-                @Override
-                public boolean isCellEditable(int row, int column) {
-                    return false;
-                }
-            };
+            // Table: rows are read from the published decisions on demand
+            tableModel = new ReplenishmentTableModel();
             table = new JTable(tableModel);
             table.setFont(new Font("Segoe UI", Font.PLAIN, 12));
             table.setRowHeight(25);
@@ -485,8 +779,7 @@ public class MainWindow extends JFrame {
                         boolean hasFocus, int row, int column) {
                     Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
                     if (!isSelected && tableModel.getRowCount() > row) {
-                        String status = (String) tableModel.getValueAt(row, 7);
-                        if ("REORDER".equals(status)) {
+                        if (tableModel.getDecision(row).needsReorder) {
                             c.setBackground(new Color(255, 220, 200));
                         } else {
                             c.setBackground(Color.WHITE);
@@ -500,50 +793,64 @@ public class MainWindow extends JFrame {
             add(scrollPane, BorderLayout.CENTER);
         }
         
+        /**
+         * Brings the decisions up to date and places the orders they call for,
+         * off the event dispatch thread.
+         */
         private void placeOrders() {
-            List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(store.getAllItems());
-            int ordersPlaced = 0;
+            if (!startBackgroundTask("Placing orders...")) return;
             
-            for (InventoryManager.ReplenishmentDecision decision : decisions) {
-                if (decision.needsReorder && decision.orderQuantity > 0) {
-                    manager.placeOrder(decision.item, decision.orderQuantity);
-                    ordersPlaced++;
+            activeWorker = new BackgroundTask<Integer, Void>() {
+                @Override
+                protected Integer compute() {
+                    List<InventoryManager.ReplenishmentDecision> decisions =
+                            decisionCache.getDecisions(progressMonitor(this, 0, 100));
+                    int ordersPlaced = 0;
+                    for (InventoryManager.ReplenishmentDecision decision : decisions) {
+                        if (decision.needsReorder && decision.orderQuantity > 0) {
+                            manager.placeOrder(decision.item, decision.orderQuantity);
+                            ordersPlaced++;
+                        }
+                    }
+                    return ordersPlaced;
                 }
-            }
-            
-            JOptionPane.showMessageDialog(this, 
-                ordersPlaced > 0 ? "Placed " + ordersPlaced + " orders." : "No orders needed.",
-                "Orders", 
-                JOptionPane.INFORMATION_MESSAGE);
-            
-            refresh();
-            refreshAllPanels();
+                
+                @Override
+                protected void done() {
+                    decisionsPublished();
+                    int ordersPlaced = 0;
+                    if (!isCancelled()) {
+                        try {
+                            ordersPlaced = get();
+                        } catch (InterruptedException | ExecutionException e) {
+                            // reported by finishBackgroundTask
+                        }
+                    }
+                    finishBackgroundTask(this,
+                        ordersPlaced > 0 ? "Placed " + ordersPlaced + " orders." : "No orders needed.",
+                        "Orders");
+                }
+            };
+            activeWorker.addPropertyChangeListener(MainWindow.this::onWorkerProgress);
+            activeWorker.execute();
         }
         
         public void refresh() {
-            tableModel.setRowCount(0);
-            List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(store.getAllItems());
-            
-            for (InventoryManager.ReplenishmentDecision decision : decisions) {
-                Object[] row = {
-                    decision.item.getItemID(),
-                    decision.item.getName(),
-                    decision.item.getCurrentStock(),
-                    String.format("%.2f", decision.forecastedDemand),
-                    decision.safetyStock,
-                    decision.reorderPoint,
-                    decision.orderQuantity,
-                    decision.needsReorder ? "REORDER" : "OK",
-                    decision.needsReorder ? decision.orderQuantity : 0
-                };
-                tableModel.addRow(row);
-            }
+            // Decisions as of the last daily update; computing them here would block the EDT.
+            // O(1): a new list swaps the model's rows, the same list repaints the live stock
+            tableModel.setDecisions(decisionCache.getLatest());
         }
     }
     
     class ReportsPanel extends JPanel {
         private JTextArea weeklyReportArea, monthlyReportArea;
         private JButton weeklyBtn, monthlyBtn;
+        // Both reports are catalog-wide, so they are generated in the background
+        private final BackgroundRefresh<String> weeklyReport =
+                new BackgroundRefresh<>(this::computeWeeklyReport, report -> weeklyReportArea.setText(report));
+        private final BackgroundRefresh<String> monthlyReport =
+                new BackgroundRefresh<>(() -> InventoryReports.generateMonthlyReport(store),
+                        report -> monthlyReportArea.setText(report));
         
         public ReportsPanel() {
             setLayout(new BorderLayout(10, 10));
@@ -576,16 +883,20 @@ public class MainWindow extends JFrame {
         }
         
         private void generateWeeklyReport() {
-            List<Item> items = store.getAllItems();
-            List<InventoryManager.ReplenishmentDecision> decisions = manager.processDailyUpdate(items);
-            String report = InventoryReports.generateWeeklyReport(items, decisions);
-            weeklyReportArea.setText(report);
+            weeklyReport.request();
         }
         
         private void generateMonthlyReport() {
-            List<Item> items = store.getAllItems();
-            String report = InventoryReports.generateMonthlyReport(items);
-            monthlyReportArea.setText(report);
+            monthlyReport.request();
+        }
+        
+        /** Runs off the EDT */
+        private String computeWeeklyReport() {
+            List<InventoryManager.ReplenishmentDecision> decisions = decisionCache.getLatest();
+            if (decisions == null) {
+                return "No daily update has run yet.";
+            }
+            return InventoryReports.generateWeeklyReport(store, decisions);
         }
         
         public void refresh() {
@@ -0,0 +1,77 @@
+package com.example.inventory.gui;
+
+import com.example.inventory.core.InventoryManager.ReplenishmentDecision;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table model over a published list of replenishment decisions.
+ *
+ * Keeps the decision list itself instead of copying it into rows, and formats
+ * cells only for the rows the table paints, so neither a new list nor a stock
+ * change costs work proportional to the catalog. Stock is read live from each
+ * decision's item; everything else is as of the update that produced the list.
+ * Must be used on the event dispatch thread.
+ */
+class ReplenishmentTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS =
+            {"ID", "Name", "Stock", "Forecast/day", "Safety Stock", "ROP", "EOQ", "Status", "Order Qty"};
+
+    private List<ReplenishmentDecision> decisions = Collections.emptyList();
+
+    /**
+     * Shows the given decisions, or nothing when null. Passing the list already
+     * shown only repaints, for the live stock column.
+     */
+    void setDecisions(List<ReplenishmentDecision> decisions) {
+        if (decisions == null) {
+            decisions = Collections.emptyList();
+        }
+        if (decisions == this.decisions) {
+            if (!decisions.isEmpty()) {
+                fireTableRowsUpdated(0, decisions.size() - 1); // repaints only the visible rows
+            }
+            return;
+        }
+        this.decisions = decisions;
+        fireTableDataChanged();
+    }
+
+    ReplenishmentDecision getDecision(int row) {
+        return decisions.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return decisions.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        ReplenishmentDecision decision = decisions.get(row);
+        switch (column) {
+            case 0: return decision.item.getItemID();
+            case 1: return decision.item.getName();
+            case 2: return decision.item.getCurrentStock();
+            case 3: return String.format("%.2f", decision.forecastedDemand);
+            case 4: return decision.safetyStock;
+            case 5: return decision.reorderPoint;
+            case 6: return decision.orderQuantity;
+            case 7: return decision.needsReorder ? "REORDER" : "OK";
+            case 8: return decision.needsReorder ? decision.orderQuantity : 0;
+            default: throw new IndexOutOfBoundsException("column " + column);
+        }
+    }
+}
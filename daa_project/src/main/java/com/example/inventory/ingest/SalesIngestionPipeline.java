@@ -0,0 +1,290 @@
+package com.example.inventory.ingest;
+
+import com.example.inventory.core.InventoryManager;
+import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Asynchronous sales ingestion stage.
+ *
+ * Sale events are written into bounded, preallocated ring buffers, one per
+ * partition. Items are assigned to partitions by ItemID, and each partition
+ * has exactly one consumer thread, so every item is only ever written by one
+ * thread and the consumers never contend with each other. Consumers drain
+ * events in batches and apply each batch with one call to
+ * InventoryManager.recordDailySales, which waits for the journal once per
+ * batch. A sale that fails to apply is counted and logged; the consumer keeps
+ * going.
+ *
+ * When a ring is full, producers get backpressure: offer fails immediately
+ * and publish waits only up to its timeout. Sales are only accepted between
+ * start() and close(); a sale for which offer or publish returned true is
+ * always applied before close() returns.
+ */
+public class SalesIngestionPipeline implements AutoCloseable {
+    private final InventoryStore store;
+    private final InventoryManager manager;
+    private final Partition[] partitions;
+    private final int batchSize;
+    private final WaitStrategy waitStrategy;
+    private final List<Thread> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong unknownItems = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * @param partitions number of single-writer consumer threads
+     * @param bufferSize slots per partition ring, rounded up to a power of two
+     * @param batchSize maximum events a consumer applies before releasing slots
+     */
+    public SalesIngestionPipeline(InventoryStore store, InventoryManager manager, int partitions,
+                                  int bufferSize, int batchSize, WaitStrategy waitStrategy) {
+        if (partitions <= 0) throw new IllegalArgumentException("partitions must be > 0");
+        if (bufferSize <= 0) throw new IllegalArgumentException("bufferSize must be > 0");
+        if (batchSize <= 0) throw new IllegalArgumentException("batchSize must be > 0");
+        this.store = store;
+        this.manager = manager;
+        this.batchSize = batchSize;
+        this.waitStrategy = waitStrategy;
+        int capacity = Integer.highestOneBit(bufferSize);
+        if (capacity < bufferSize) capacity <<= 1;
+        this.partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition(capacity);
+        }
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (int i = 0; i < partitions.length; i++) {
+            Partition partition = partitions[i];
+            Thread consumer = new Thread(() -> consume(partition), "sales-ingest-" + i);
+            consumer.setDaemon(true);
+            consumers.add(consumer);
+            consumer.start();
+        }
+    }
+
+    /**
+     * Enqueues a sale without waiting.
+     *
+     * @return false if the item's partition is full (the sale was not accepted)
+     */
+    public boolean offer(int itemID, int quantity) {
+        if (quantity < 0) throw new IllegalArgumentException("Sales quantity must be >= 0");
+        if (partitionOf(itemID).tryPublishWhile(this, itemID, quantity)) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Enqueues a sale, waiting with the configured strategy while the partition is full.
+     *
+     * @return false if the sale could not be enqueued before the timeout
+     */
+    public boolean publish(int itemID, int quantity, long timeout, TimeUnit unit) {
+        if (quantity < 0) throw new IllegalArgumentException("Sales quantity must be >= 0");
+        Partition partition = partitionOf(itemID);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while (!partition.tryPublishWhile(this, itemID, quantity)) {
+            if (!running || System.nanoTime() - deadline >= 0) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            waitStrategy.idle(attempt++);
+        }
+        return true;
+    }
+
+    /**
+     * Stops accepting work, lets consumers drain what was already accepted and
+     * waits for them. Waiting is not cut short by an interrupt, since accepted
+     * sales would be lost; the thread's interrupt status is restored afterwards.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            running = false;
+        }
+        boolean interrupted = false;
+        for (Thread consumer : consumers) {
+            while (true) {
+                try {
+                    consumer.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        consumers.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getAppliedCount() { return applied.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+    public long getUnknownItemCount() { return unknownItems.get(); }
+    public long getFailedCount() { return failed.get(); }
+
+    /**
+     * Events published but not yet applied, across all partitions.
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (Partition partition : partitions) {
+            backlog += partition.claimed.get() - partition.consumed.get();
+        }
+        return backlog;
+    }
+
+    private Partition partitionOf(int itemID) {
+        return partitions[Math.floorMod(itemID, partitions.length)];
+    }
+
+    private void consume(Partition partition) {
+        int[] itemIDs = new int[batchSize];
+        int[] quantities = new int[batchSize];
+        Item[] items = new Item[batchSize];
+        int attempt = 0;
+        while (true) {
+            int drained = partition.peek(batchSize, itemIDs, quantities);
+            if (drained > 0) {
+                apply(itemIDs, quantities, items, drained);
+                partition.release(drained);
+                attempt = 0;
+            } else if (!running && partition.isQuiescent()) {
+                // No producer can get past the gate any more, and none is mid-publish
+                return;
+            } else {
+                waitStrategy.idle(attempt++);
+            }
+        }
+    }
+
+    private void apply(int[] itemIDs, int[] quantities, Item[] items, int drained) {
+        int count = 0;
+        for (int i = 0; i < drained; i++) {
+            Item item = store.getItemByID(itemIDs[i]).orElse(null);
+            if (item == null) {
+                unknownItems.incrementAndGet();
+                continue;
+            }
+            items[count] = item;
+            quantities[count] = quantities[i]; // count <= i, so this only moves entries down
+            count++;
+        }
+        if (count == 0) return;
+        try {
+            int done = manager.recordDailySales(items, quantities, count);
+            applied.addAndGet(done);
+            failed.addAndGet(count - done);
+        } catch (RuntimeException e) {
+            // The batch was applied but could not be made durable
+            failed.addAndGet(count);
+            System.err.println("Sales batch of " + count + " failed: " + e);
+        } finally {
+            Arrays.fill(items, 0, count, null);
+        }
+    }
+
+    /**
+     * Multi-producer, single-consumer ring. Producers claim a sequence with a CAS,
+     * fill the preallocated slot, then mark it published by storing the sequence in
+     * the slot's marker; the consumer reads slots in sequence order until it finds
+     * one that is not yet published.
+     *
+     * Producers pass a gate around the running check and the publish. The
+     * consumer only stops once it has seen the pipeline stopped, no producer in
+     * the gate and the ring empty, so a publish that saw running == true is
+     * always drained.
+     */
+    private static final class Partition {
+        private final int mask;
+        private final int[] itemIDs;
+        private final int[] quantities;
+        private final AtomicLongArray published;
+        private final AtomicLong claimed = new AtomicLong(); // next sequence to claim
+        private final AtomicLong consumed = new AtomicLong(); // next sequence to consume
+        private final AtomicInteger publishers = new AtomicInteger(); // producers inside the gate
+
+        Partition(int capacity) {
+            this.mask = capacity - 1;
+            this.itemIDs = new int[capacity];
+            this.quantities = new int[capacity];
+            this.published = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                published.set(i, -1);
+            }
+        }
+
+        boolean tryPublishWhile(SalesIngestionPipeline pipeline, int itemID, int quantity) {
+            publishers.incrementAndGet();
+            try {
+                return pipeline.running && tryPublish(itemID, quantity);
+            } finally {
+                publishers.decrementAndGet();
+            }
+        }
+
+        private boolean tryPublish(int itemID, int quantity) {
+            long sequence;
+            do {
+                sequence = claimed.get();
+                if (sequence - consumed.get() > mask) {
+                    return false; // full
+                }
+            } while (!claimed.compareAndSet(sequence, sequence + 1));
+            int slot = (int) sequence & mask;
+            itemIDs[slot] = itemID;
+            quantities[slot] = quantity;
+            published.lazySet(slot, sequence);
+            return true;
+        }
+
+        /**
+         * Copies up to max published events, in order, without releasing their slots.
+         */
+        int peek(int max, int[] itemIDsOut, int[] quantitiesOut) {
+            long next = consumed.get();
+            int count = 0;
+            while (count < max) {
+                int slot = (int) next & mask;
+                if (published.get(slot) != next) break;
+                itemIDsOut[count] = itemIDs[slot];
+                quantitiesOut[count] = quantities[slot];
+                next++;
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Releases the whole batch of slots returned by the last peek at once.
+         */
+        void release(int count) {
+            consumed.lazySet(consumed.get() + count);
+        }
+
+        boolean isQuiescent() {
+            // Gate first: a producer that has left it has already claimed its sequence
+            return publishers.get() == 0 && consumed.get() == claimed.get();
+        }
+    }
+}
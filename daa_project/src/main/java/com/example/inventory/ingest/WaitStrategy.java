@@ -0,0 +1,44 @@
+package com.example.inventory.ingest;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits when the sales ring is empty (consumer) or full (producer).
+ * Trades latency for CPU: BUSY_SPIN is fastest but burns a core per waiter,
+ * SLEEPING backs off to parking and is the cheapest when idle.
+ */
+public enum WaitStrategy {
+    BUSY_SPIN {
+        @Override
+        void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+    YIELDING {
+        @Override
+        void idle(int attempt) {
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    SLEEPING {
+        @Override
+        void idle(int attempt) {
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else if (attempt < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(Math.min(1_000_000L, 1_000L << Math.min(10, attempt - 200)));
+            }
+        }
+    };
+
+    /**
+     * @param attempt consecutive unsuccessful attempts so far, starting at 0
+     */
+    abstract void idle(int attempt);
+}
@@ -0,0 +1,27 @@
+package com.example.inventory.model;
+
+/**
+ * Read-only view over a daily demand/sales history.
+ * Index 0 is the oldest retained day, size() - 1 the most recent.
+ */
+public interface HistoryView {
+    int size();
+
+    int get(int index);
+
+    long sum();
+
+    long sumOfSquares();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    default int[] toArray() {
+        int[] copy = new int[size()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = get(i);
+        }
+        return copy;
+    }
+}
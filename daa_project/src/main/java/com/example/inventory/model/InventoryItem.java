@@ -1,25 +1,27 @@
 package com.example.inventory.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class InventoryItem {
     private final Product product;
     private int onHand;
     private int onOrder;
-    private final List<Integer> dailyDemandHistory; // last N days
+    private final SalesHistory dailyDemandHistory; // last N days
 
     public InventoryItem(Product product, int onHand, int onOrder, List<Integer> dailyDemandHistory) {
         this.product = product;
         this.onHand = onHand;
         this.onOrder = onOrder;
-        this.dailyDemandHistory = new ArrayList<>(dailyDemandHistory);
+        this.dailyDemandHistory = new SalesHistory(SalesHistory.DEFAULT_CAPACITY);
+        for (int quantity : dailyDemandHistory) {
+            this.dailyDemandHistory.add(quantity);
+        }
     }
 
     public Product getProduct() { return product; }
     public int getOnHand() { return onHand; }
     public int getOnOrder() { return onOrder; }
-    public List<Integer> getDailyDemandHistory() { return dailyDemandHistory; }
+    public HistoryView getDailyDemandHistory() { return dailyDemandHistory.view(); }
 
     public int getInventoryPosition() { return onHand + onOrder; }
 
@@ -27,9 +29,6 @@ public class InventoryItem {
         if (quantity < 0) throw new IllegalArgumentException("quantity must be >= 0");
         this.onHand = Math.max(0, this.onHand - quantity);
         this.dailyDemandHistory.add(quantity);
-        if (this.dailyDemandHistory.size() > 90) {
-            this.dailyDemandHistory.remove(0);
-        }
     }
 
     public void receive(int quantity) {
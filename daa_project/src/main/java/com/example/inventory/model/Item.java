@@ -1,8 +1,11 @@
 package com.example.inventory.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.example.inventory.core.Forecasting;
+import com.example.inventory.core.RunningStats;
+
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * Item class matching the specification:
@@ -12,17 +15,45 @@ import java.util.Objects;
  * - DailyDemand: average daily demand
  * - LeadTime: days required to get a new stock
  * - ReorderLevel: minimum stock before reordering
+ *
+ * Thread-safe: each item is its own lock. Mutators and the history-derived
+ * reads synchronize on the item, and callers that need several reads to be
+ * consistent with each other can hold the item's monitor around them; callers
+ * that also write (e.g. a replenishment decision) use atomically(), so change
+ * notifications still go out after the lock is released. Every mutator is an
+ * atomically() call, which the owner sees as one write (see
+ * ItemChangeListener.writeStarting). Scalar fields are volatile for lock-free
+ * reads.
  */
 public class Item {
+    private static final ItemChangeListener.Change[] CHANGES = ItemChangeListener.Change.values();
+    
     private final int itemID;
     private final String name;
-    private int currentStock;
-    private double dailyDemand; // average daily demand
+    private volatile int currentStock;
+    private volatile double dailyDemand; // average daily demand
     private final int leadTime; // days required to get a new stock
-    private int reorderLevel; // minimum stock before reordering (calculated dynamically)
+    private volatile int reorderLevel; // minimum stock before reordering (calculated dynamically)
     
     // Historical sales data for forecasting
-    private final List<Integer> dailySalesHistory;
+    private final SalesHistory dailySalesHistory;
+    // Mean/variance of the retained window, kept in step with dailySalesHistory
+    private final RunningStats demandStats;
+    private int evictionsSinceResync;
+    
+    // Exponentially smoothed demand level, advanced in O(1) per recorded sale.
+    // NaN alpha means the level has not been seeded yet.
+    private double smoothingAlpha = Double.NaN;
+    private double smoothedLevel;
+    private double evictionWeight; // (1 - alpha)^capacity, the oldest day's weight in a full window
+    
+    // Owner to notify of changes (typically the store) and this item's slot in it
+    private volatile ItemChangeListener changeListener;
+    private volatile int slot = -1;
+    // Changes made inside atomically(), one bit per Change, sent once the lock is released
+    private int atomicDepth;
+    private Thread atomicOwner; // thread inside atomically(), set and cleared under the lock
+    private int deferredChanges;
     
     // Cost parameters for EOQ calculation
     private final double unitCost;
@@ -31,6 +62,17 @@ public class Item {
     
     public Item(int itemID, String name, int currentStock, double dailyDemand, 
                 int leadTime, int reorderLevel, double unitCost, double orderingCost, double holdingCostRate) {
+        this(itemID, name, currentStock, dailyDemand, leadTime, reorderLevel,
+             unitCost, orderingCost, holdingCostRate, seedHistory(dailyDemand));
+    }
+    
+    /**
+     * Creates an item with a known sales history (oldest day first), e.g. when
+     * restoring from a journal or loading from a file.
+     */
+    public Item(int itemID, String name, int currentStock, double dailyDemand, 
+                int leadTime, int reorderLevel, double unitCost, double orderingCost, double holdingCostRate,
+                int[] salesHistory) {
         this.itemID = itemID;
         this.name = name;
         this.currentStock = currentStock;
@@ -40,14 +82,41 @@ public class Item {
         this.unitCost = unitCost;
         this.orderingCost = orderingCost;
         this.holdingCostRate = holdingCostRate;
-        this.dailySalesHistory = new ArrayList<>();
-        
+        this.dailySalesHistory = new SalesHistory(SalesHistory.DEFAULT_CAPACITY);
+        this.demandStats = new RunningStats();
+        for (int sales : salesHistory) {
+            appendHistory(sales);
+        }
+    }
+    
+    private static int[] seedHistory(double dailyDemand) {
         // Initialize with some historical data based on daily demand
-        for (int i = 0; i < 30; i++) {
+        int[] history = new int[30];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < history.length; i++) {
             // Add some variation around daily demand
-            int sales = (int) (dailyDemand + (Math.random() * dailyDemand * 0.3 - dailyDemand * 0.15));
-            dailySalesHistory.add(Math.max(0, sales));
+            // ThreadLocalRandom: no contention on a shared generator when items are built in parallel
+            int sales = (int) (dailyDemand + (random.nextDouble() * dailyDemand * 0.3 - dailyDemand * 0.15));
+            history[i] = Math.max(0, sales);
         }
+        return history;
+    }
+    
+    /**
+     * For views whose mutable state (stock, demand, history) lives elsewhere,
+     * e.g. rows of a columnar store. Subclasses must override every accessor
+     * and mutator of that state; no history is allocated here.
+     */
+    protected Item(int itemID, String name, int leadTime,
+                   double unitCost, double orderingCost, double holdingCostRate) {
+        this.itemID = itemID;
+        this.name = name;
+        this.leadTime = leadTime;
+        this.unitCost = unitCost;
+        this.orderingCost = orderingCost;
+        this.holdingCostRate = holdingCostRate;
+        this.dailySalesHistory = null;
+        this.demandStats = null;
     }
     
     // Getters
@@ -57,30 +126,197 @@ public class Item {
     public double getDailyDemand() { return dailyDemand; }
     public int getLeadTime() { return leadTime; }
     public int getReorderLevel() { return reorderLevel; }
-    public List<Integer> getDailySalesHistory() { return dailySalesHistory; }
+    /** Live view; hold the item's monitor while reading it if other threads may record sales. */
+    public HistoryView getDailySalesHistory() { return dailySalesHistory.view(); }
     public double getUnitCost() { return unitCost; }
     public double getOrderingCost() { return orderingCost; }
     public double getHoldingCostRate() { return holdingCostRate; }
+    public synchronized double getSmoothingAlpha() { return smoothingAlpha; }
+    public synchronized double getSmoothedLevel() { return smoothedLevel; }
+    public synchronized double getDemandMean() { return demandStats.getMean(); }
+    public synchronized double getDemandStdDev() { return demandStats.stdDev(); }
+    
+    /** Position in the owning store, or -1 if not in a store */
+    public int getSlot() { return slot; }
     
     // Setters
-    public void setCurrentStock(int currentStock) { this.currentStock = currentStock; }
-    public void setDailyDemand(double dailyDemand) { this.dailyDemand = dailyDemand; }
-    public void setReorderLevel(int reorderLevel) { this.reorderLevel = reorderLevel; }
+    public void setCurrentStock(int currentStock) {
+        atomically(() -> {
+            this.currentStock = currentStock;
+            changed(ItemChangeListener.Change.STOCK);
+            return null;
+        });
+    }
+    
+    public void setDailyDemand(double dailyDemand) {
+        atomically(() -> {
+            this.dailyDemand = dailyDemand;
+            changed(ItemChangeListener.Change.DEMAND);
+            return null;
+        });
+    }
+    
+    public void setReorderLevel(int reorderLevel) {
+        atomically(() -> {
+            if (this.reorderLevel != reorderLevel) {
+                this.reorderLevel = reorderLevel;
+                changed(ItemChangeListener.Change.REORDER_LEVEL);
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Runs action while holding the item's lock, so its reads and writes are
+     * atomic with respect to other threads. Changes it makes are announced to
+     * the listener after the lock is released, even if action throws.
+     *
+     * The outermost call is one write for the listener: writeStarting before
+     * the lock is taken, writeFinished after the notifications. The action must
+     * not change other items, since the listener may hold a write back there
+     * while this one is still open.
+     */
+    public <T> T atomically(Supplier<T> action) {
+        ItemChangeListener listener = changeListener;
+        // Nested calls, and mutators called inside one, run within the outer write.
+        // Read without the lock: only this thread can have stored itself there
+        boolean outermost = listener != null && atomicOwner != Thread.currentThread();
+        if (outermost) {
+            listener.writeStarting(this);
+        }
+        int changes = 0;
+        try {
+            synchronized (this) {
+                if (atomicDepth++ == 0) {
+                    atomicOwner = Thread.currentThread();
+                }
+                try {
+                    return action.get();
+                } finally {
+                    if (--atomicDepth == 0) {
+                        atomicOwner = null;
+                        changes = deferredChanges;
+                        deferredChanges = 0;
+                    }
+                }
+            }
+        } finally {
+            try {
+                for (ItemChangeListener.Change change : CHANGES) {
+                    if ((changes & (1 << change.ordinal())) != 0) {
+                        notifyChanged(change);
+                    }
+                }
+            } finally {
+                if (outermost) {
+                    listener.writeFinished(this);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Records a change for the listener, sent when the outermost atomically()
+     * returns. Callers hold the lock inside atomically().
+     */
+    private void changed(ItemChangeListener.Change change) {
+        deferredChanges |= 1 << change.ordinal();
+    }
+    
+    /**
+     * Registers the owner to notify of changes and this item's slot in it.
+     * An item belongs to at most one owner; a later call replaces the earlier one.
+     */
+    public synchronized void setChangeListener(ItemChangeListener listener, int slot) {
+        this.changeListener = listener;
+        this.slot = slot;
+    }
+    
+    private void notifyChanged(ItemChangeListener.Change change) {
+        ItemChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.itemChanged(this, change);
+        }
+    }
+    
+    /**
+     * Seeds the smoothing state, typically with the batch result over the current history.
+     * Later sales then advance the level incrementally with the same alpha.
+     */
+    public synchronized void resetSmoothing(double alpha, double level) {
+        this.smoothingAlpha = alpha;
+        this.smoothedLevel = level;
+        this.evictionWeight = Math.pow(1 - alpha, dailySalesHistory.capacity());
+    }
     
     // Business methods
     public void recordDailySales(int quantity) {
         if (quantity < 0) throw new IllegalArgumentException("Sales quantity must be >= 0");
-        currentStock = Math.max(0, currentStock - quantity);
-        dailySalesHistory.add(quantity);
-        // Keep last 90 days of history
-        if (dailySalesHistory.size() > 90) {
-            dailySalesHistory.remove(0);
+        atomically(() -> {
+            currentStock = Math.max(0, currentStock - quantity);
+            boolean firstDay = dailySalesHistory.isEmpty();
+            int evicted = appendHistory(quantity);
+            if (!Double.isNaN(smoothingAlpha)) {
+                advanceSmoothing(quantity, evicted, firstDay);
+            }
+            changed(ItemChangeListener.Change.SALE);
+            return null;
+        });
+    }
+    
+    /**
+     * Same recurrence as Forecasting.exponentialSmoothing over the retained window.
+     * While the window is filling this is exactly the batch step. Once it evicts,
+     * the batch result starts from the new oldest day instead, which differs by
+     * (1 - alpha)^capacity * (newOldest - evicted); that term is added in O(1).
+     * It is not negligible for small alphas (about 41% of a day at alpha 0.01),
+     * so it cannot be dropped. The update is exact in real arithmetic; the level
+     * is replayed from the window once per ring turn, together with the Welford
+     * stats, so floating-point rounding cannot build up.
+     */
+    private void advanceSmoothing(int quantity, int evicted, boolean firstDay) {
+        if (firstDay) {
+            smoothedLevel = quantity;
+        } else if (evicted >= 0 && evictionsSinceResync == 0) {
+            smoothedLevel = Forecasting.exponentialSmoothing(dailySalesHistory.view(), smoothingAlpha);
+        } else {
+            smoothedLevel = smoothingAlpha * quantity + (1 - smoothingAlpha) * smoothedLevel;
+            if (evicted >= 0) {
+                smoothedLevel += evictionWeight * (dailySalesHistory.get(0) - evicted);
+            }
+        }
+    }
+    
+    /**
+     * Returns the evicted day, or -1 while the window is still filling.
+     */
+    private int appendHistory(int quantity) {
+        // Keeps the last 90 days of history; the oldest day is overwritten in place
+        int evicted = dailySalesHistory.add(quantity);
+        if (evicted >= 0 && ++evictionsSinceResync == dailySalesHistory.capacity()) {
+            // Sliding removals accumulate rounding error; recompute from the window
+            // once per full turn of the ring (amortized O(1) per day)
+            demandStats.clear();
+            for (int i = 0; i < dailySalesHistory.size(); i++) {
+                demandStats.add(dailySalesHistory.get(i));
+            }
+            evictionsSinceResync = 0;
+            return evicted;
+        }
+        demandStats.add(quantity);
+        if (evicted >= 0) {
+            demandStats.remove(evicted);
         }
+        return evicted;
     }
     
     public void receiveStock(int quantity) {
         if (quantity < 0) throw new IllegalArgumentException("Received quantity must be >= 0");
-        currentStock += quantity;
+        atomically(() -> {
+            currentStock += quantity;
+            changed(ItemChangeListener.Change.RECEIPT);
+            return null;
+        });
     }
     
     public double getAnnualHoldingCost() {
@@ -103,7 +339,7 @@ public class Item {
     @Override
     public String toString() {
         return String.format("Item{ID=%d, Name='%s', Stock=%d, DailyDemand=%.2f, LeadTime=%d, ReorderLevel=%d}",
-                itemID, name, currentStock, dailyDemand, leadTime, reorderLevel);
+                itemID, name, getCurrentStock(), getDailyDemand(), leadTime, getReorderLevel());
     }
 }
 
@@ -0,0 +1,29 @@
+package com.example.inventory.model;
+
+/**
+ * Notified after an item's state changes, once the item's lock has been
+ * released. Notifications for one item may therefore arrive concurrently and
+ * out of order; implementations should re-read the item's current state
+ * rather than rely on the order, and must be quick.
+ */
+public interface ItemChangeListener {
+    enum Change { SALE, RECEIPT, STOCK, DEMAND, REORDER_LEVEL }
+
+    void itemChanged(Item item, Change change);
+
+    /**
+     * Called before a write to item takes the item's lock. Every call is
+     * matched by one writeFinished, after the write's itemChanged calls, so an
+     * owner can tell whether a write is in progress anywhere. May block to hold
+     * writes back; the thread holds no item lock when it does, unless it
+     * synchronized on the item itself around the write.
+     */
+    default void writeStarting(Item item) {
+    }
+
+    /**
+     * Called once the write started by writeStarting is complete.
+     */
+    default void writeFinished(Item item) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.inventory.model;
+
+/**
+ * Fixed-capacity circular buffer of daily quantities backed by an int[].
+ * Appending is O(1): once full, the oldest day is overwritten instead of
+ * shifting the array. A running sum and sum of squares are maintained so
+ * aggregates never need to rescan the window.
+ */
+public final class SalesHistory {
+    public static final int DEFAULT_CAPACITY = 90;
+
+    private final int[] values;
+    private int head; // index of the oldest value
+    private int size;
+    private long sum;
+    private long sumOfSquares;
+    private final HistoryView view = new View();
+
+    public SalesHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SalesHistory(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Appends a day and returns the evicted oldest value, or -1 if nothing was evicted.
+     */
+    public int add(int value) {
+        if (value < 0) throw new IllegalArgumentException("value must be >= 0");
+        int evicted = -1;
+        int tail;
+        if (size == values.length) {
+            evicted = values[head];
+            sum -= evicted;
+            sumOfSquares -= (long) evicted * evicted;
+            tail = head;
+            head = next(head);
+        } else {
+            tail = index(size);
+            size++;
+        }
+        values[tail] = value;
+        sum += value;
+        sumOfSquares += (long) value * value;
+        return evicted;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index(index)];
+    }
+
+    public int size() { return size; }
+    public int capacity() { return values.length; }
+    public boolean isEmpty() { return size == 0; }
+    public long sum() { return sum; }
+    public long sumOfSquares() { return sumOfSquares; }
+
+    public double mean() {
+        return size == 0 ? 0.0 : (double) sum / size;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        sum = 0;
+        sumOfSquares = 0;
+    }
+
+    /**
+     * Read-only view sharing this buffer; it reflects later appends.
+     */
+    public HistoryView view() {
+        return view;
+    }
+
+    private int index(int logical) {
+        int i = head + logical;
+        return i >= values.length ? i - values.length : i;
+    }
+
+    private int next(int i) {
+        return i + 1 == values.length ? 0 : i + 1;
+    }
+
+    private final class View implements HistoryView {
+        @Override public int size() { return size; }
+        @Override public int get(int index) { return SalesHistory.this.get(index); }
+        @Override public long sum() { return sum; }
+        @Override public long sumOfSquares() { return sumOfSquares; }
+
+        @Override
+        public int[] toArray() {
+            int[] copy = new int[size];
+            int firstRun = Math.min(size, values.length - head);
+            System.arraycopy(values, head, copy, 0, firstRun);
+            System.arraycopy(values, 0, copy, firstRun, size - firstRun);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.inventory.store;
+
+import com.example.inventory.model.ItemChangeListener;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of store slots changed since the tracker was last drained.
+ *
+ * Each consumer that needs to know what changed (the incremental daily update,
+ * a table view) gets its own tracker from InventoryStore, so draining one does
+ * not hide changes from another. Only the change kinds the tracker was opened
+ * for are recorded; new items are always recorded.
+ *
+ * Marking is lock-free: one bit per slot in pages of atomic words, set with a
+ * CAS only when the bit is still clear, so writers to different items never
+ * wait for each other or for a drain. Pages are allocated on first use.
+ */
+public final class ChangeTracker {
+    private static final int PAGE_SHIFT = 10; // 1024 words = 65,536 slots per page
+    private static final int PAGE_WORDS = 1 << PAGE_SHIFT;
+
+    private final InventoryStore store;
+    private final Set<ItemChangeListener.Change> kinds;
+
+    // Copy-on-write page table; pages themselves are shared and never replaced
+    private volatile AtomicLongArray[] pages = new AtomicLongArray[0];
+    private final AtomicBoolean all = new AtomicBoolean();
+
+    ChangeTracker(InventoryStore store, Set<ItemChangeListener.Change> kinds) {
+        this.store = store;
+        this.kinds = kinds.isEmpty()
+                ? EnumSet.noneOf(ItemChangeListener.Change.class)
+                : EnumSet.copyOf(kinds);
+    }
+
+    boolean tracks(ItemChangeListener.Change change) {
+        return kinds.contains(change);
+    }
+
+    void mark(int slot) {
+        int word = slot >>> 6;
+        AtomicLongArray page = page(word >>> PAGE_SHIFT);
+        int index = word & (PAGE_WORDS - 1);
+        long bit = 1L << slot; // shift distance is taken mod 64
+        long current = page.get(index);
+        while ((current & bit) == 0) {
+            long witness = page.compareAndExchange(index, current, current | bit);
+            if (witness == current) return;
+            current = witness;
+        }
+    }
+
+    private AtomicLongArray page(int number) {
+        AtomicLongArray[] current = pages;
+        if (number < current.length && current[number] != null) {
+            return current[number];
+        }
+        return allocatePage(number);
+    }
+
+    private synchronized AtomicLongArray allocatePage(int number) {
+        AtomicLongArray[] current = pages;
+        if (number < current.length && current[number] != null) {
+            return current[number];
+        }
+        AtomicLongArray[] grown = Arrays.copyOf(current, Math.max(current.length, number + 1));
+        grown[number] = new AtomicLongArray(PAGE_WORDS);
+        pages = grown;
+        return grown[number];
+    }
+
+    /**
+     * Returns the changed slots in ascending order and clears the set. After
+     * markAll() every slot is returned. O(slots / 64) for the scan of the bitmap.
+     */
+    public int[] drain() {
+        int size = store.getItemCount();
+        boolean wasAll = all.getAndSet(false);
+        int[] drained = new int[wasAll ? Math.max(size, 16) : 16];
+        int count = 0;
+        if (wasAll) {
+            // Items added after size was read are still in the bitmap
+            for (int i = 0; i < size; i++) {
+                drained[i] = i;
+            }
+            count = size;
+        }
+        AtomicLongArray[] current = pages;
+        for (int p = 0; p < current.length; p++) {
+            AtomicLongArray page = current[p];
+            if (page == null) continue;
+            for (int w = 0; w < PAGE_WORDS; w++) {
+                if (page.get(w) == 0) continue;
+                long bits = page.getAndSet(w, 0);
+                int base = ((p << PAGE_SHIFT) + w) << 6;
+                while (bits != 0) {
+                    int slot = base + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (wasAll && slot < size) continue;
+                    if (count == drained.length) {
+                        drained = Arrays.copyOf(drained, count * 2);
+                    }
+                    drained[count++] = slot;
+                }
+            }
+        }
+        return count == drained.length ? drained : Arrays.copyOf(drained, count);
+    }
+
+    /**
+     * Marks every slot changed.
+     */
+    public void markAll() {
+        all.set(true);
+    }
+
+    /**
+     * Number of slots drain() would return now.
+     */
+    public int size() {
+        int size = store.getItemCount();
+        boolean isAll = all.get();
+        int count = isAll ? size : 0;
+        AtomicLongArray[] current = pages;
+        for (int p = 0; p < current.length; p++) {
+            AtomicLongArray page = current[p];
+            if (page == null) continue;
+            for (int w = 0; w < PAGE_WORDS; w++) {
+                long bits = page.get(w);
+                if (bits == 0) continue;
+                if (isAll) {
+                    int base = ((p << PAGE_SHIFT) + w) << 6;
+                    if (base + 64 <= size) continue;
+                    if (base < size) bits &= -1L << (size - base); // keep slots >= size
+                }
+                count += Long.bitCount(bits);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stops tracking; the tracker is no longer updated.
+     */
+    public void close() {
+        store.closeChangeTracker(this);
+    }
+}
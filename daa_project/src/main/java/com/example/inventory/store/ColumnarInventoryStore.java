@@ -0,0 +1,451 @@
+package com.example.inventory.store;
+
+import com.example.inventory.model.HistoryView;
+import com.example.inventory.model.Item;
+import com.example.inventory.model.SalesHistory;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Struct-of-arrays inventory store for very large catalogs.
+ * Every Item field lives in its own primitive column indexed by row, so a sweep
+ * over the catalog reads memory sequentially and there is no per-item object
+ * header, boxed history or HashMap entry. Sales history is one flat int[] ring
+ * of historyDays slots per row, with Welford mean/variance and the exponentially
+ * smoothed level kept alongside.
+ *
+ * Existing callers that need Item objects get lightweight views (see view(int)),
+ * whose reads and writes go straight to the columns. Not thread-safe, except that
+ * distinct rows may be updated concurrently (as the parallel daily update does).
+ */
+public class ColumnarInventoryStore {
+    private static final int DEFAULT_CAPACITY = 1024;
+    // Largest array length the common JVMs allocate
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final int historyDays;
+    private int size;
+
+    // Item master columns
+    private int[] itemIds;
+    private String[] names;
+    private int[] currentStock;
+    private double[] dailyDemand;
+    private int[] leadTime;
+    private int[] reorderLevel;
+    private double[] unitCost;
+    private double[] orderingCost;
+    private double[] holdingCostRate;
+
+    // Sales history ring per row: history[row * historyDays + slot]
+    private int[] history;
+    private int[] historyHead;
+    private int[] historyCount;
+
+    // Forecasting state per row
+    private double[] demandMean;
+    private double[] demandM2;
+    private double[] smoothedLevel;
+    private volatile double smoothingAlpha = Double.NaN; // shared by all rows; NaN = not seeded
+    private double evictionWeight; // (1 - alpha)^historyDays, written before smoothingAlpha
+
+    private final IntIntMap rowByItemId;
+
+    public ColumnarInventoryStore() {
+        this(DEFAULT_CAPACITY, SalesHistory.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity expected number of items; columns grow as needed
+     * @param historyDays days of sales history retained per item (4 bytes per day per item)
+     */
+    public ColumnarInventoryStore(int initialCapacity, int historyDays) {
+        if (historyDays <= 0) throw new IllegalArgumentException("historyDays must be > 0");
+        int capacity = Math.max(1, initialCapacity);
+        if (capacity > maxRows(historyDays)) {
+            throw new IllegalArgumentException("Capacity " + capacity + " x " + historyDays
+                    + " history days exceeds the maximum array length; at most " + maxRows(historyDays) + " rows");
+        }
+        this.historyDays = historyDays;
+        this.itemIds = new int[capacity];
+        this.names = new String[capacity];
+        this.currentStock = new int[capacity];
+        this.dailyDemand = new double[capacity];
+        this.leadTime = new int[capacity];
+        this.reorderLevel = new int[capacity];
+        this.unitCost = new double[capacity];
+        this.orderingCost = new double[capacity];
+        this.holdingCostRate = new double[capacity];
+        this.history = new int[Math.multiplyExact(capacity, historyDays)];
+        this.historyHead = new int[capacity];
+        this.historyCount = new int[capacity];
+        this.demandMean = new double[capacity];
+        this.demandM2 = new double[capacity];
+        this.smoothedLevel = new double[capacity];
+        this.rowByItemId = new IntIntMap(capacity);
+    }
+
+    /**
+     * Appends an item and returns its row.
+     */
+    public int addItem(int itemID, String name, int stock, double demand, int lead, int reorder,
+                       double cost, double orderCost, double holdingRate) {
+        if (rowByItemId.get(itemID) >= 0) {
+            throw new IllegalArgumentException("Duplicate ItemID: " + itemID);
+        }
+        if (size == itemIds.length) {
+            grow();
+        }
+        int row = size++;
+        itemIds[row] = itemID;
+        names[row] = name;
+        currentStock[row] = stock;
+        dailyDemand[row] = demand;
+        leadTime[row] = lead;
+        reorderLevel[row] = reorder;
+        unitCost[row] = cost;
+        orderingCost[row] = orderCost;
+        holdingCostRate[row] = holdingRate;
+        rowByItemId.put(itemID, row);
+        seedSmoothing(row);
+        return row;
+    }
+
+    /**
+     * Copies an object-model item, including its sales history, into a new row.
+     */
+    public int addItem(Item item) {
+        int row = addItem(item.getItemID(), item.getName(), item.getCurrentStock(), item.getDailyDemand(),
+                item.getLeadTime(), item.getReorderLevel(), item.getUnitCost(), item.getOrderingCost(),
+                item.getHoldingCostRate());
+        HistoryView itemHistory = item.getDailySalesHistory();
+        for (int i = 0; i < itemHistory.size(); i++) {
+            appendHistory(row, itemHistory.get(i));
+        }
+        seedSmoothing(row);
+        return row;
+    }
+
+    /**
+     * Once the store is seeded, a new row needs its level too: the daily update
+     * only reseeds when alpha changes.
+     */
+    private void seedSmoothing(int row) {
+        double alpha = smoothingAlpha;
+        if (!Double.isNaN(alpha)) {
+            smoothedLevel[row] = replaySmoothing(row, alpha);
+        }
+    }
+
+    public int getItemCount() { return size; }
+    public int getHistoryDays() { return historyDays; }
+
+    /**
+     * Row of the given item, or -1 if absent.
+     */
+    public int rowOf(int itemID) {
+        return rowByItemId.get(itemID);
+    }
+
+    // Column accessors by row
+    public int getItemID(int row) { return itemIds[checkRow(row)]; }
+    public String getName(int row) { return names[checkRow(row)]; }
+    public int getCurrentStock(int row) { return currentStock[checkRow(row)]; }
+    public double getDailyDemand(int row) { return dailyDemand[checkRow(row)]; }
+    public int getLeadTime(int row) { return leadTime[checkRow(row)]; }
+    public int getReorderLevel(int row) { return reorderLevel[checkRow(row)]; }
+    public double getUnitCost(int row) { return unitCost[checkRow(row)]; }
+    public double getOrderingCost(int row) { return orderingCost[checkRow(row)]; }
+    public double getHoldingCostRate(int row) { return holdingCostRate[checkRow(row)]; }
+    public double getAnnualHoldingCost(int row) { return unitCost[checkRow(row)] * holdingCostRate[row]; }
+    public int getHistorySize(int row) { return historyCount[checkRow(row)]; }
+    public double getDemandMean(int row) { return demandMean[checkRow(row)]; }
+
+    public double getDemandStdDev(int row) {
+        int n = historyCount[checkRow(row)];
+        return n == 0 ? 0.0 : Math.sqrt(demandM2[row] / Math.max(1, n - 1));
+    }
+
+    public double getSmoothingAlpha() { return smoothingAlpha; }
+    public double getSmoothedLevel(int row) { return smoothedLevel[checkRow(row)]; }
+
+    /**
+     * Day {@code index} of the row's history, 0 being the oldest retained day.
+     */
+    public int getHistory(int row, int index) {
+        if (index < 0 || index >= historyCount[checkRow(row)]) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + historyCount[row]);
+        }
+        return history[historySlot(row, index)];
+    }
+
+    public double simpleMovingAverage(int row, int window) {
+        int n = historyCount[checkRow(row)];
+        if (n == 0 || window <= 0) return 0.0;
+        // Exact sum, as Forecasting computes it; the running mean may differ in the last bits
+        int days = Math.min(window, n);
+        return (double) historySum(row, n - days) / days;
+    }
+
+    /**
+     * Sum of the row's history from day {@code from} to the most recent.
+     */
+    private long historySum(int row, int from) {
+        long sum = 0;
+        for (int i = from; i < historyCount[row]; i++) {
+            sum += history[historySlot(row, i)];
+        }
+        return sum;
+    }
+
+    public void setCurrentStock(int row, int stock) { currentStock[checkRow(row)] = stock; }
+    public void setDailyDemand(int row, double demand) { dailyDemand[checkRow(row)] = demand; }
+    public void setReorderLevel(int row, int level) { reorderLevel[checkRow(row)] = level; }
+
+    public void recordDailySales(int row, int quantity) {
+        if (quantity < 0) throw new IllegalArgumentException("Sales quantity must be >= 0");
+        checkRow(row);
+        currentStock[row] = Math.max(0, currentStock[row] - quantity);
+        boolean firstDay = historyCount[row] == 0;
+        int evicted = appendHistory(row, quantity);
+        double alpha = smoothingAlpha;
+        if (Double.isNaN(alpha)) return;
+        // Same batch-equivalent update as Item: exact while the ring fills, corrected
+        // for the evicted day afterwards, and replayed once per ring turn with the stats
+        if (firstDay) {
+            smoothedLevel[row] = quantity;
+        } else if (evicted >= 0 && historyHead[row] == 0) {
+            smoothedLevel[row] = replaySmoothing(row, alpha);
+        } else {
+            double level = alpha * quantity + (1 - alpha) * smoothedLevel[row];
+            if (evicted >= 0) {
+                level += evictionWeight * (history[historySlot(row, 0)] - evicted);
+            }
+            smoothedLevel[row] = level;
+        }
+    }
+
+    public void receiveStock(int row, int quantity) {
+        if (quantity < 0) throw new IllegalArgumentException("Received quantity must be >= 0");
+        currentStock[checkRow(row)] += quantity;
+    }
+
+    /**
+     * Re-seeds every row's smoothed level by replaying its history with {@code alpha};
+     * later sales then advance the level in O(1).
+     */
+    public synchronized void rebuildSmoothing(double alpha) {
+        for (int row = 0; row < size; row++) {
+            smoothedLevel[row] = replaySmoothing(row, alpha);
+        }
+        evictionWeight = Math.pow(1 - alpha, historyDays);
+        smoothingAlpha = alpha;
+    }
+
+    private double replaySmoothing(int row, double alpha) {
+        int n = historyCount[row];
+        if (n == 0) return 0.0;
+        double s = history[historySlot(row, 0)];
+        for (int i = 1; i < n; i++) {
+            s = alpha * history[historySlot(row, i)] + (1 - alpha) * s;
+        }
+        return s;
+    }
+
+    /**
+     * Flyweight Item over a row; it holds no mutable state of its own.
+     */
+    public Item view(int row) {
+        checkRow(row);
+        return new RowView(row);
+    }
+
+    public Optional<Item> getItemByID(int itemID) {
+        int row = rowOf(itemID);
+        return row < 0 ? Optional.empty() : Optional.of(new RowView(row));
+    }
+
+    /**
+     * List of row views created lazily on access; nothing is copied up front.
+     */
+    public List<Item> getAllItems() {
+        final int count = size;
+        return new AbstractList<Item>() {
+            @Override
+            public Item get(int index) {
+                if (index >= count) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+                return new RowView(index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Returns the evicted day, or -1 while the row's ring is still filling.
+     */
+    private int appendHistory(int row, int quantity) {
+        int n = historyCount[row];
+        int base = row * historyDays;
+        if (n == historyDays) {
+            int head = historyHead[row];
+            int evicted = history[base + head];
+            history[base + head] = quantity;
+            historyHead[row] = head + 1 == historyDays ? 0 : head + 1;
+            if (historyHead[row] == 0) {
+                // Once per full turn of the ring, drop accumulated rounding drift
+                resyncStats(row);
+            } else {
+                // Welford: replace the evicted day with the new one
+                statsRemove(row, n, evicted);
+                statsAdd(row, n - 1, quantity);
+            }
+            return evicted;
+        }
+        history[historySlot(row, n)] = quantity;
+        historyCount[row] = n + 1;
+        statsAdd(row, n, quantity);
+        return -1;
+    }
+
+    private void resyncStats(int row) {
+        demandMean[row] = 0.0;
+        demandM2[row] = 0.0;
+        int n = historyCount[row];
+        for (int i = 0; i < n; i++) {
+            statsAdd(row, i, history[historySlot(row, i)]);
+        }
+    }
+
+    private void statsAdd(int row, int countBefore, double x) {
+        int count = countBefore + 1;
+        double delta = x - demandMean[row];
+        demandMean[row] += delta / count;
+        demandM2[row] += delta * (x - demandMean[row]);
+    }
+
+    private void statsRemove(int row, int countBefore, double x) {
+        if (countBefore == 1) {
+            demandMean[row] = 0.0;
+            demandM2[row] = 0.0;
+            return;
+        }
+        double oldMean = demandMean[row];
+        int count = countBefore - 1;
+        demandMean[row] = oldMean - (x - oldMean) / count;
+        demandM2[row] = Math.max(0.0, demandM2[row] - (x - oldMean) * (x - demandMean[row]));
+    }
+
+    private int historySlot(int row, int index) {
+        int slot = historyHead[row] + index;
+        if (slot >= historyDays) slot -= historyDays;
+        return row * historyDays + slot;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+        return row;
+    }
+
+    /**
+     * Rows whose history fits in one int[]; row * historyDays never overflows below this.
+     */
+    private static int maxRows(int historyDays) {
+        return MAX_ARRAY_LENGTH / historyDays;
+    }
+
+    private void grow() {
+        int maxRows = maxRows(historyDays);
+        if (itemIds.length >= maxRows) {
+            throw new IllegalStateException("Store is full: " + maxRows + " rows x " + historyDays
+                    + " history days is the maximum array length");
+        }
+        int capacity = (int) Math.min(maxRows, itemIds.length + (itemIds.length >> 1) + 1L);
+        itemIds = Arrays.copyOf(itemIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+        currentStock = Arrays.copyOf(currentStock, capacity);
+        dailyDemand = Arrays.copyOf(dailyDemand, capacity);
+        leadTime = Arrays.copyOf(leadTime, capacity);
+        reorderLevel = Arrays.copyOf(reorderLevel, capacity);
+        unitCost = Arrays.copyOf(unitCost, capacity);
+        orderingCost = Arrays.copyOf(orderingCost, capacity);
+        holdingCostRate = Arrays.copyOf(holdingCostRate, capacity);
+        history = Arrays.copyOf(history, Math.multiplyExact(capacity, historyDays));
+        historyHead = Arrays.copyOf(historyHead, capacity);
+        historyCount = Arrays.copyOf(historyCount, capacity);
+        demandMean = Arrays.copyOf(demandMean, capacity);
+        demandM2 = Arrays.copyOf(demandM2, capacity);
+        smoothedLevel = Arrays.copyOf(smoothedLevel, capacity);
+    }
+
+    /**
+     * Item facade over one row. Immutable attributes are passed to Item once;
+     * everything that changes is read from and written to the columns.
+     */
+    private final class RowView extends Item {
+        private final int row;
+
+        RowView(int row) {
+            super(itemIds[row], names[row], leadTime[row], unitCost[row], orderingCost[row], holdingCostRate[row]);
+            this.row = row;
+        }
+
+        @Override public int getCurrentStock() { return currentStock[row]; }
+        @Override public double getDailyDemand() { return dailyDemand[row]; }
+        @Override public int getReorderLevel() { return reorderLevel[row]; }
+        @Override public double getSmoothingAlpha() { return smoothingAlpha; }
+        @Override public double getSmoothedLevel() { return smoothedLevel[row]; }
+        @Override public double getDemandMean() { return demandMean[row]; }
+        @Override public double getDemandStdDev() { return ColumnarInventoryStore.this.getDemandStdDev(row); }
+
+        @Override public void setCurrentStock(int stock) { currentStock[row] = stock; }
+        @Override public void setDailyDemand(double demand) { dailyDemand[row] = demand; }
+        @Override public void setReorderLevel(int level) { reorderLevel[row] = level; }
+
+        @Override
+        public void resetSmoothing(double alpha, double level) {
+            // Alpha is a column-store-wide setting, so reseed all rows consistently.
+            // Locked because a parallel daily update may reach here from several rows at once.
+            synchronized (ColumnarInventoryStore.this) {
+                if (Double.compare(alpha, smoothingAlpha) != 0) {
+                    rebuildSmoothing(alpha);
+                }
+                smoothedLevel[row] = level;
+            }
+        }
+
+        @Override
+        public HistoryView getDailySalesHistory() {
+            return new HistoryView() {
+                @Override public int size() { return historyCount[row]; }
+                @Override public int get(int index) { return getHistory(row, index); }
+
+                @Override
+                public long sum() {
+                    return historySum(row, 0);
+                }
+
+                @Override
+                public long sumOfSquares() {
+                    long total = 0;
+                    for (int i = 0; i < historyCount[row]; i++) {
+                        long v = history[historySlot(row, i)];
+                        total += v * v;
+                    }
+                    return total;
+                }
+            };
+        }
+
+        @Override public void recordDailySales(int quantity) { ColumnarInventoryStore.this.recordDailySales(row, quantity); }
+        @Override public void receiveStock(int quantity) { ColumnarInventoryStore.this.receiveStock(row, quantity); }
+    }
+}
@@ -6,17 +6,37 @@ import java.util.*;
 
 public class InMemoryInventoryStore {
     private final Map<String, InventoryItem> skuToItem = new HashMap<>();
+    // Read-only list of the items, rebuilt on the first listItems() after a change
+    private List<InventoryItem> itemList;
+    private long version;
 
     public Optional<InventoryItem> getBySku(String sku) {
         return Optional.ofNullable(skuToItem.get(sku));
     }
 
     public void upsertItem(InventoryItem item) {
-        skuToItem.put(item.getProduct().getSku(), item);
+        InventoryItem previous = skuToItem.put(item.getProduct().getSku(), item);
+        if (previous != item) {
+            itemList = null;
+            version++;
+        }
     }
 
+    /**
+     * Read-only list of all items. Repeated calls between upserts return the
+     * same list without copying; an upsert never alters a list already returned.
+     */
     public List<InventoryItem> listItems() {
-        return new ArrayList<>(skuToItem.values());
+        List<InventoryItem> list = itemList;
+        if (list == null) {
+            list = Collections.unmodifiableList(new ArrayList<>(skuToItem.values()));
+            itemList = list;
+        }
+        return list;
     }
-}
 
+    /** Incremented whenever the set of items changes */
+    public long getVersion() {
+        return version;
+    }
+}
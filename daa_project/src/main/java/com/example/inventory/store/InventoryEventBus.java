@@ -0,0 +1,128 @@
+package com.example.inventory.store;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Coalescing notification of inventory changes, published by the store and
+ * the manager.
+ *
+ * Publishing only sets a bit for the topic; the first publish after a delivery
+ * schedules the next one a short window later. Each subscriber is then called
+ * once with the subscribed topics that fired during the window, however many
+ * events there were, so a burst of sales costs one refresh per subscriber.
+ * Handlers run on the delivery executor, e.g. SwingUtilities::invokeLater.
+ */
+public class InventoryEventBus implements AutoCloseable {
+    public enum Topic {
+        /** Items were added to the store */
+        ITEMS_ADDED,
+        /** Sales, receipts or stock edits */
+        STOCK_CHANGED,
+        /** Daily demand edits */
+        DEMAND_CHANGED,
+        /** Reorder levels changed, normally by a daily update */
+        REORDER_LEVEL_CHANGED,
+        /** A daily update recomputed decisions */
+        DECISIONS_UPDATED,
+        /** Orders were placed */
+        ORDER_PLACED
+    }
+    
+    private static final Topic[] TOPICS = Topic.values();
+    
+    private final long windowMillis;
+    private final Executor deliveryExecutor;
+    private final ScheduledExecutorService timer;
+    private final AtomicInteger pending = new AtomicInteger(); // bit per Topic ordinal
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+    
+    public InventoryEventBus(long windowMillis, Executor deliveryExecutor) {
+        this.windowMillis = windowMillis;
+        this.deliveryExecutor = deliveryExecutor;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "inventory-event-bus");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Never throws to the writer publishing; a no-op once the bus is closed.
+     */
+    public void publish(Topic topic) {
+        if (closed) return;
+        int bit = 1 << topic.ordinal();
+        if ((pending.get() & bit) != 0) return; // already pending: no write, no contention
+        int before = pending.getAndUpdate(mask -> mask | bit);
+        if (before == 0) {
+            try {
+                timer.schedule(this::deliver, windowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Closed meanwhile: nothing will deliver, so do not leave the bits set
+                pending.set(0);
+            }
+        }
+    }
+    
+    /**
+     * Calls handler with the subset of topics that fired, at most once per window.
+     */
+    public Subscription subscribe(Set<Topic> topics, Consumer<Set<Topic>> handler) {
+        Subscription subscription = new Subscription(EnumSet.copyOf(topics), handler);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+    
+    private void deliver() {
+        int mask = pending.getAndSet(0);
+        if (mask == 0) return;
+        EnumSet<Topic> fired = EnumSet.noneOf(Topic.class);
+        for (Topic topic : TOPICS) {
+            if ((mask & (1 << topic.ordinal())) != 0) fired.add(topic);
+        }
+        deliveryExecutor.execute(() -> {
+            for (Subscription subscription : subscriptions) {
+                EnumSet<Topic> relevant = EnumSet.copyOf(fired);
+                relevant.retainAll(subscription.topics);
+                if (!relevant.isEmpty()) {
+                    subscription.handler.accept(relevant);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Stops delivering; pending events are dropped.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        timer.shutdownNow();
+        subscriptions.clear();
+    }
+    
+    public final class Subscription {
+        private final Set<Topic> topics;
+        private final Consumer<Set<Topic>> handler;
+        
+        private Subscription(Set<Topic> topics, Consumer<Set<Topic>> handler) {
+            this.topics = topics;
+            this.handler = handler;
+        }
+        
+        public void cancel() {
+            subscriptions.remove(this);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.example.inventory.store;
+
+import com.example.inventory.model.HistoryView;
+import com.example.inventory.model.Item;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary write-ahead journal of inventory mutations.
+ *
+ * Records are collected in a buffer and written as frames of
+ * [payload length][CRC32C][records...] through a FileChannel, so many records
+ * share one write and one fsync (group commit). A torn or corrupt trailing frame,
+ * e.g. after a crash mid-write, ends replay cleanly at the last good frame.
+ *
+ * Record layout (big-endian):
+ * - ITEM_ADDED: type, itemID, stock, dailyDemand, leadTime, reorderLevel, unitCost,
+ *   orderingCost, holdingCostRate, name (u16 length + UTF-8), history (count + ints)
+ * - SALE / RECEIPT / ORDER / REORDER_LEVEL: type, itemID, value (9 bytes)
+ *
+ * Appends only copy the record into the buffer under the journal's lock and
+ * return its sequence number; the write and fsync happen in awaitDurable(),
+ * which callers run after releasing their own locks. Concurrent callers of
+ * awaitDurable() share one fsync: the first one forces everything written so
+ * far and the others find their records already durable. After a failed write
+ * or fsync the journal refuses further appends, since the OS may have dropped
+ * the dirty pages.
+ *
+ * Writes are thread-safe.
+ */
+public class InventoryJournal implements AutoCloseable {
+    private static final int MAGIC = 0x494E564A; // "INVJ"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final byte ITEM_ADDED = 1;
+    private static final byte SALE = 2;
+    private static final byte RECEIPT = 3;
+    private static final byte ORDER = 4;
+    private static final byte REORDER_LEVEL = 5;
+
+    /**
+     * When appended records are forced to disk.
+     * - EVERY_WRITE: awaitDurable(sequence) writes and fsyncs every record up to
+     *   sequence before it returns
+     * - PER_BATCH: fsync whenever a full buffer or an explicit commit() is written;
+     *   the fsync of a full buffer runs in the next awaitDurable()
+     * - INTERVAL: fsync from a background thread every intervalMillis
+     */
+    public enum FsyncPolicy { EVERY_WRITE, PER_BATCH, INTERVAL }
+
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService syncer;
+    private final Object syncLock = new Object(); // taken before this, never after
+    private long appendedSeq; // records appended so far, guarded by this
+    private volatile long writtenSeq; // records handed to the channel
+    private volatile long forcedSeq; // records known to be on disk, written under syncLock
+    private volatile IOException failure; // first failed write or fsync
+    private volatile boolean closed;
+
+    private InventoryJournal(FileChannel channel, FsyncPolicy fsyncPolicy, long intervalMillis) {
+        this.channel = channel;
+        this.fsyncPolicy = fsyncPolicy;
+        buffer.position(FRAME_HEADER_SIZE);
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "inventory-journal-sync");
+                t.setDaemon(true);
+                return t;
+            });
+            syncer.scheduleWithFixedDelay(this::syncQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Opens a journal for appending, creating it if needed.
+     *
+     * @param intervalMillis fsync interval, only used with FsyncPolicy.INTERVAL
+     */
+    public static InventoryJournal open(Path path, FsyncPolicy fsyncPolicy, long intervalMillis) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            while (header.hasRemaining()) channel.write(header);
+        } else {
+            readHeader(channel);
+        }
+        channel.position(validLength(channel));
+        channel.truncate(channel.position()); // drop a torn tail before appending after it
+        return new InventoryJournal(channel, fsyncPolicy, Math.max(1, intervalMillis));
+    }
+
+    /**
+     * Appends an ITEM_ADDED record.
+     *
+     * @return the record's sequence number, for awaitDurable()
+     */
+    public synchronized long itemAdded(Item item) {
+        byte[] name = item.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) throw new IllegalArgumentException("item name too long for journal");
+        HistoryView history = item.getDailySalesHistory();
+        int historySize = history.size();
+        int length = 1 + 4 * 4 + 8 * 4 + 2 + name.length + 4 + historySize * 4;
+        ensureCapacity(length);
+        buffer.put(ITEM_ADDED)
+              .putInt(item.getItemID())
+              .putInt(item.getCurrentStock())
+              .putDouble(item.getDailyDemand())
+              .putInt(item.getLeadTime())
+              .putInt(item.getReorderLevel())
+              .putDouble(item.getUnitCost())
+              .putDouble(item.getOrderingCost())
+              .putDouble(item.getHoldingCostRate())
+              .putShort((short) name.length)
+              .put(name)
+              .putInt(historySize);
+        for (int i = 0; i < historySize; i++) {
+            buffer.putInt(history.get(i));
+        }
+        return ++appendedSeq;
+    }
+
+    public synchronized long sale(int itemID, int quantity) { return append(SALE, itemID, quantity); }
+    public synchronized long receipt(int itemID, int quantity) { return append(RECEIPT, itemID, quantity); }
+    public synchronized long order(int itemID, int quantity) { return append(ORDER, itemID, quantity); }
+    public synchronized long reorderLevel(int itemID, int level) { return append(REORDER_LEVEL, itemID, level); }
+
+    /**
+     * Makes the record with this sequence number as durable as the policy asks:
+     * with EVERY_WRITE it is written and fsynced before this returns, with
+     * PER_BATCH a full buffer written since the last fsync is forced. Call it
+     * without holding an item's lock.
+     *
+     * @throws UncheckedIOException if the write or fsync fails
+     */
+    public void awaitDurable(long sequence) {
+        switch (fsyncPolicy) {
+            case EVERY_WRITE:
+                if (forcedSeq >= sequence) return;
+                synchronized (syncLock) {
+                    if (forcedSeq >= sequence) return; // forced by the previous group
+                    synchronized (this) {
+                        flushFrame();
+                    }
+                    forceWritten();
+                }
+                break;
+            case PER_BATCH:
+                if (writtenSeq > forcedSeq) {
+                    forceWritten();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Writes buffered records as one frame; fsyncs it unless the policy is INTERVAL.
+     */
+    public void commit() {
+        synchronized (this) {
+            flushFrame();
+        }
+        if (fsyncPolicy != FsyncPolicy.INTERVAL) {
+            forceWritten();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (closed) return;
+                try {
+                    flushFrame();
+                    if (writtenSeq > forcedSeq) {
+                        channel.force(false);
+                        forcedSeq = writtenSeq;
+                    }
+                } finally {
+                    closed = true;
+                    channel.close();
+                }
+            }
+        }
+    }
+
+    private long append(byte type, int itemID, int value) {
+        ensureCapacity(9);
+        buffer.put(type).putInt(itemID).putInt(value);
+        return ++appendedSeq;
+    }
+
+    private void ensureCapacity(int length) {
+        if (closed) throw new IllegalStateException("journal is closed");
+        if (failure != null) throw new UncheckedIOException("journal failed earlier", failure);
+        if (length > buffer.capacity() - FRAME_HEADER_SIZE) {
+            throw new IllegalArgumentException("record too large for journal: " + length + " bytes");
+        }
+        if (buffer.remaining() < length) {
+            flushFrame(); // forced later by awaitDurable() or the sync thread
+        }
+    }
+
+    /**
+     * Writes the buffer as one frame; the caller holds this.
+     */
+    private void flushFrame() {
+        if (failure != null) throw new UncheckedIOException("journal failed earlier", failure);
+        int payload = buffer.position() - FRAME_HEADER_SIZE;
+        if (payload == 0) return;
+        buffer.flip();
+        ByteBuffer body = buffer.duplicate().position(FRAME_HEADER_SIZE);
+        crc.reset();
+        crc.update(body);
+        buffer.putInt(0, payload).putInt(4, (int) crc.getValue());
+        try {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            failure = e;
+            throw new UncheckedIOException("journal write failed", e);
+        }
+        buffer.clear().position(FRAME_HEADER_SIZE);
+        writtenSeq = appendedSeq;
+    }
+
+    /**
+     * Fsyncs every record written so far, outside the append lock so appends
+     * continue meanwhile.
+     */
+    private void forceWritten() {
+        synchronized (syncLock) {
+            long target = writtenSeq; // read before the force, so it covers these records
+            if (closed || target <= forcedSeq) return;
+            if (failure != null) throw new UncheckedIOException("journal failed earlier", failure);
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+                throw new UncheckedIOException("journal fsync failed", e);
+            }
+            forcedSeq = target;
+        }
+    }
+
+    private void syncQuietly() {
+        if (closed) return;
+        try {
+            synchronized (this) {
+                if (closed) return;
+                flushFrame();
+            }
+            forceWritten();
+        } catch (UncheckedIOException e) {
+            System.err.println("Journal sync failed: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds state by applying every committed record to {@code store}, which is
+     * expected to be empty. Records for unknown items are skipped. ORDER records are
+     * counted but have no effect on the store, since it does not track open orders.
+     *
+     * @return number of records applied
+     */
+    public static long replay(Path path, InventoryStore store) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            readHeader(channel);
+            return scan(channel, store);
+        }
+    }
+
+    private static void readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.position(0);
+        while (header.hasRemaining() && channel.read(header) >= 0) {
+            // fill
+        }
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("not an inventory journal");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported journal version " + version);
+        }
+    }
+
+    /**
+     * File offset just past the last complete, checksummed frame.
+     */
+    private static long validLength(FileChannel channel) throws IOException {
+        channel.position(HEADER_SIZE);
+        scan(channel, null);
+        return channel.position();
+    }
+
+    /**
+     * Reads frames from the channel's position, applying them when store != null.
+     * Leaves the channel positioned after the last valid frame.
+     */
+    private static long scan(FileChannel channel, InventoryStore store) throws IOException {
+        ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE + FRAME_HEADER_SIZE);
+        CRC32C crc = new CRC32C();
+        long applied = 0;
+        long validEnd = channel.position();
+        long fileSize = channel.size();
+        ByteBuffer frameHeader = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        while (validEnd + FRAME_HEADER_SIZE <= fileSize) {
+            frameHeader.clear();
+            channel.read(frameHeader, validEnd);
+            int payload = frameHeader.getInt(0);
+            int checksum = frameHeader.getInt(4);
+            if (payload <= 0 || payload > BUFFER_SIZE || validEnd + FRAME_HEADER_SIZE + payload > fileSize) {
+                break; // torn or garbage tail
+            }
+            in.clear().limit(payload);
+            long readAt = validEnd + FRAME_HEADER_SIZE;
+            while (in.hasRemaining()) {
+                int n = channel.read(in, readAt + in.position());
+                if (n < 0) break;
+            }
+            in.flip();
+            crc.reset();
+            crc.update(in.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            if (store != null) {
+                applied += applyFrame(in, store);
+            }
+            validEnd = readAt + payload;
+        }
+        channel.position(validEnd);
+        return applied;
+    }
+
+    private static long applyFrame(ByteBuffer in, InventoryStore store) {
+        long applied = 0;
+        while (in.hasRemaining()) {
+            byte type = in.get();
+            int itemID = in.getInt();
+            if (type == ITEM_ADDED) {
+                int stock = in.getInt();
+                double dailyDemand = in.getDouble();
+                int leadTime = in.getInt();
+                int reorderLevel = in.getInt();
+                double unitCost = in.getDouble();
+                double orderingCost = in.getDouble();
+                double holdingCostRate = in.getDouble();
+                byte[] name = new byte[in.getShort() & 0xFFFF];
+                in.get(name);
+                int[] history = new int[in.getInt()];
+                for (int i = 0; i < history.length; i++) {
+                    history[i] = in.getInt();
+                }
+                store.addItem(new Item(itemID, new String(name, StandardCharsets.UTF_8), stock, dailyDemand,
+                        leadTime, reorderLevel, unitCost, orderingCost, holdingCostRate, history));
+                applied++;
+                continue;
+            }
+            int value = in.getInt();
+            Item item = store.getItemByID(itemID).orElse(null);
+            if (item == null) continue;
+            switch (type) {
+                case SALE:
+                    item.recordDailySales(value);
+                    break;
+                case RECEIPT:
+                    item.receiveStock(value);
+                    break;
+                case REORDER_LEVEL:
+                    item.setReorderLevel(value);
+                    break;
+                case ORDER:
+                    break;
+                default:
+                    throw new IllegalStateException("unknown journal record type " + type);
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * True if the file exists and holds at least one record.
+     */
+    public static boolean hasRecords(Path path) throws IOException {
+        return Files.exists(path) && Files.size(path) > HEADER_SIZE;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.inventory.store;
+
+import com.example.inventory.model.Item;
+
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable view of an InventoryStore's item list as of one moment.
+ *
+ * Taking a snapshot is O(1): it shares the store's append-only array and
+ * remembers the size, epoch and write version at that moment, so later
+ * additions are not visible. The items themselves are live objects; a reader
+ * that needs their state to be consistent across the whole catalog computes
+ * optimistically and checks isCurrent() afterwards, retrying on a fresh
+ * snapshot if a write got in. InventoryStore.readConsistent() does exactly
+ * that, and says so when writes never let up.
+ */
+public final class InventorySnapshot extends AbstractList<Item> implements RandomAccess {
+    private final InventoryStore store;
+    private final Item[] items;
+    private final int size;
+    private final long epoch;
+    private final long writeVersion;
+    private final boolean quiescent; // no write was in progress when taken
+    
+    InventorySnapshot(InventoryStore store, Item[] items, int size, long epoch,
+                      long writeVersion, boolean quiescent) {
+        this.store = store;
+        this.items = items;
+        this.size = size;
+        this.epoch = epoch;
+        this.writeVersion = writeVersion;
+        this.quiescent = quiescent;
+    }
+    
+    @Override
+    public Item get(int index) {
+        Objects.checkIndex(index, size);
+        return items[index];
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Store epoch this snapshot was taken at. The epoch covers decision inputs
+     * only; isCurrent() covers every change.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    /**
+     * True if no item in the snapshot has been written since just before it
+     * was taken, reorder levels included: everything read from its items so far
+     * is one point-in-time state. Adding items does not count as a write.
+     */
+    public boolean isCurrent() {
+        return quiescent && store.getWriteVersion() == writeVersion;
+    }
+}
@@ -1,32 +1,410 @@
 package com.example.inventory.store;
 
 import com.example.inventory.model.Item;
+import com.example.inventory.model.ItemChangeListener;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
  * Inventory Store using List<Item> as specified
+ *
+ * In concurrent mode the store can be shared by several threads, e.g. POS
+ * threads recording sales while a daily update runs: lookups by ItemID and
+ * reads of the item list are lock-free, and additions are serialized. Per-item
+ * consistency comes from Item itself, which locks on each item. Change
+ * notifications arrive after the item's lock is released, and the bookkeeping
+ * below is lock-free or striped by slot, so writers to different items do not
+ * serialize on the store.
+ *
+ * The store also tracks which items changed since the last drainDirtySlots()
+ * call (sales, receipts, stock or demand edits, and new items), so a daily
+ * update can recompute only those. Reorder-level changes are the update's own
+ * output and do not mark an item dirty. The same changes advance the store's
+ * epoch, so results derived from the store can be cached per epoch. Other
+ * consumers can open their own ChangeTracker.
+ *
+ * A secondary index of low-stock items (currentStock <= reorderLevel) is kept
+ * up to date from the same change notifications, so alerts and low-stock
+ * counts cost O(k) in the number of flagged items instead of a catalog scan
+ * (see LowStockIndex).
+ *
+ * Items are only ever appended, so getAllItems() can hand out snapshots that
+ * share the backing array instead of copying it (see InventorySnapshot).
+ * Every write to a stored item is bracketed by two striped counters, started
+ * and finished, so a reader can tell whether any write overlapped its pass
+ * over the items; readConsistent() uses that to give a point-in-time view.
  */
 public class InventoryStore {
-    private final List<Item> inventory;
+    // Append-only: slots below size never change, so snapshots can share the array.
+    // Writers hold the lock; size is published last so readers see filled slots.
+    private final Object lock = new Object();
+    private volatile Item[] inventory = new Item[16];
+    private volatile int size;
     private final Map<Integer, Item> itemMap; // For efficient lookup by ItemID
+    private final boolean concurrent;
+    private InventoryJournal journal; // null = not journaled
+    private volatile InventoryEventBus eventBus; // null = no events
+    private volatile ItemSearchIndex searchIndex; // built on first search
+    
+    // Changes that can alter a decision, for the incremental daily update
+    private final ChangeTracker dirty = new ChangeTracker(this,
+            EnumSet.complementOf(EnumSet.of(ItemChangeListener.Change.REORDER_LEVEL)));
+    private final List<ChangeTracker> trackers = new CopyOnWriteArrayList<>(List.of(dirty));
+    private final ItemChangeListener changeListener = new ItemChangeListener() {
+        @Override
+        public void itemChanged(Item item, Change change) {
+            onItemChanged(item, change);
+        }
+        
+        @Override
+        public void writeStarting(Item item) {
+            writesStarted.increment();
+        }
+        
+        @Override
+        public void writeFinished(Item item) {
+            writesFinished.increment();
+        }
+    };
+    private final LongAdder epoch = new LongAdder(); // striped: bumped by every sale
+    
+    // Write brackets for snapshot validation; started == finished means no write in progress
+    private static final int CONSISTENT_READ_ATTEMPTS = 6;
+    private static final long MAX_READ_BACKOFF_MILLIS = 16;
+    private final LongAdder writesStarted = new LongAdder();
+    private final LongAdder writesFinished = new LongAdder();
+    private final LowStockIndex lowStock = new LowStockIndex();
     
     public InventoryStore() {
-        this.inventory = new ArrayList<>();
-        this.itemMap = new HashMap<>();
+        this(false);
+    }
+    
+    public InventoryStore(boolean concurrent) {
+        this.itemMap = concurrent ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.concurrent = concurrent;
+        dirty.markAll();
+    }
+    
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+    
+    /**
+     * Log every item added from now on to the journal; pass null to stop.
+     */
+    public void setJournal(InventoryJournal journal) {
+        synchronized (lock) {
+            this.journal = journal;
+        }
+    }
+    
+    /**
+     * Publish item additions and changes to the bus; pass null to stop.
+     */
+    public void setEventBus(InventoryEventBus eventBus) {
+        this.eventBus = eventBus;
     }
     
     public void addItem(Item item) {
-        inventory.add(item);
+        InventoryJournal journal;
+        long sequence;
+        synchronized (lock) {
+            journal = this.journal;
+            sequence = add(item);
+        }
+        if (journal != null) {
+            journal.awaitDurable(sequence); // outside the lock, so other writers can join the group commit
+        }
+    }
+    
+    /**
+     * Adds many items under one lock acquisition, e.g. from a bulk load.
+     */
+    public void addItems(List<Item> items) {
+        InventoryJournal journal;
+        long sequence = 0;
+        synchronized (lock) {
+            journal = this.journal;
+            ensureCapacity(size + items.size());
+            for (Item item : items) {
+                sequence = add(item);
+            }
+        }
+        if (journal != null) {
+            journal.awaitDurable(sequence);
+        }
+    }
+    
+    /**
+     * Journals, then stores one item; the caller holds the lock.
+     *
+     * @return the journal sequence number of the record, 0 if not journaled
+     */
+    private long add(Item item) {
+        // Journal first: if the append fails the item was never added
+        long sequence = journal != null ? journal.itemAdded(item) : 0;
+        int slot = size;
+        ensureCapacity(slot + 1);
+        inventory[slot] = item;
+        size = slot + 1;
         itemMap.put(item.getItemID(), item);
+        item.setChangeListener(changeListener, slot);
+        epoch.increment();
+        for (ChangeTracker tracker : trackers) {
+            tracker.mark(slot);
+        }
+        lowStock.update(item);
+        ItemSearchIndex index = searchIndex;
+        if (index != null) {
+            index.itemAdded();
+        }
+        InventoryEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(InventoryEventBus.Topic.ITEMS_ADDED);
+        }
+        return sequence;
     }
     
+    private void ensureCapacity(int capacity) {
+        Item[] current = inventory;
+        if (capacity > current.length) {
+            // Old arrays stay valid for the snapshots still holding them
+            inventory = Arrays.copyOf(current, Math.max(capacity, current.length + (current.length >> 1)));
+        }
+    }
+    
+    /**
+     * View of the item list as of now; O(1), no copy. The list is fixed, the
+     * items stay live: see InventorySnapshot.isCurrent() and readConsistent().
+     */
+    public InventorySnapshot snapshot() {
+        // Epoch first: if an item is added in between, the snapshot is
+        // merely reported stale rather than claiming a newer state
+        long snapshotEpoch = epoch.sum();
+        // Finished before started: if they match, no write was in progress
+        // between the two reads (finished <= started at every instant)
+        long finished = writesFinished.sum();
+        long started = writesStarted.sum();
+        int snapshotSize = size;
+        return new InventorySnapshot(this, inventory, snapshotSize, snapshotEpoch, started, finished == started);
+    }
+    
+    /**
+     * Result of readConsistent(): the reader's value, and whether it was
+     * computed from one point-in-time state.
+     */
+    public static final class Reading<T> {
+        public final T value;
+        public final boolean consistent; // false: writes overlapped every attempt
+        
+        Reading(T value, boolean consistent) {
+            this.value = value;
+            this.consistent = consistent;
+        }
+    }
+    
+    /**
+     * Runs reader over a snapshot that no write overlapped, so it sees one
+     * point-in-time state of every item in it. Writers are never held back:
+     * when InventorySnapshot.isCurrent() says a write got in, the reader backs
+     * off and tries again on a fresh snapshot. If writes overlap every attempt,
+     * the last pass is returned marked not consistent.
+     *
+     * reader must not change items, and may run more than once.
+     */
+    public <T> Reading<T> readConsistent(Function<? super InventorySnapshot, ? extends T> reader) {
+        long backoffMillis = 1;
+        for (int attempt = 1; ; attempt++) {
+            boolean last = attempt >= CONSISTENT_READ_ATTEMPTS;
+            InventorySnapshot snapshot = snapshot();
+            // A write in progress at the start dooms the pass, unless it is the last
+            if (snapshot.isCurrent() || last) {
+                T result = reader.apply(snapshot);
+                boolean consistent = snapshot.isCurrent();
+                if (consistent || last) {
+                    return new Reading<>(result, consistent);
+                }
+            }
+            try {
+                Thread.sleep(backoffMillis); // let a burst of writes pass
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                attempt = CONSISTENT_READ_ATTEMPTS - 1; // one final pass, no more waiting
+            }
+            backoffMillis = Math.min(backoffMillis * 2, MAX_READ_BACKOFF_MILLIS);
+        }
+    }
+    
+    /**
+     * Number of item writes started so far; a snapshot is current while this
+     * is unchanged and no write was in progress when it was taken.
+     */
+    long getWriteVersion() {
+        return writesStarted.sum();
+    }
+    
+    /**
+     * Same as snapshot(); the returned list is read-only.
+     */
     public List<Item> getAllItems() {
-        return new ArrayList<>(inventory);
+        return snapshot();
+    }
+    
+    /**
+     * Item at the given slot (insertion position), without copying the list.
+     */
+    public Item getItemAt(int slot) {
+        int currentSize = size;
+        if (slot < 0 || slot >= currentSize) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " out of bounds for size " + currentSize);
+        }
+        return inventory[slot];
+    }
+    
+    /**
+     * Returns the slots of items changed since the previous call, in ascending
+     * order, and clears the set. Meant for a single consumer such as the daily
+     * update; others should open their own tracker. After markAllDirty()
+     * every slot is returned.
+     */
+    public int[] drainDirtySlots() {
+        return dirty.drain();
+    }
+    
+    /**
+     * Marks every item dirty, e.g. after a policy change that affects them all.
+     */
+    public void markAllDirty() {
+        epoch.increment();
+        dirty.markAll();
+    }
+    
+    /**
+     * Puts slots[from, to) back in the dirty set, e.g. for work an interrupted
+     * update did not get to.
+     */
+    public void requeueDirtySlots(int[] slots, int from, int to) {
+        for (int i = from; i < to; i++) {
+            dirty.mark(slots[i]);
+        }
+    }
+    
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+    
+    /**
+     * Starts recording changes of the given kinds, and new items, for a separate
+     * consumer. The tracker starts empty; close it when no longer needed.
+     */
+    public ChangeTracker openChangeTracker(Set<ItemChangeListener.Change> kinds) {
+        ChangeTracker tracker = new ChangeTracker(this, kinds);
+        trackers.add(tracker);
+        return tracker;
+    }
+    
+    void closeChangeTracker(ChangeTracker tracker) {
+        trackers.remove(tracker);
+    }
+    
+    /**
+     * Called after the item's lock is released, possibly concurrently for the
+     * same item; everything here is idempotent or re-reads the item's state.
+     */
+    private void onItemChanged(Item item, ItemChangeListener.Change change) {
+        if (change != ItemChangeListener.Change.REORDER_LEVEL) {
+            epoch.increment();
+        }
+        for (ChangeTracker tracker : trackers) {
+            if (tracker.tracks(change)) {
+                tracker.mark(item.getSlot());
+            }
+        }
+        if (change != ItemChangeListener.Change.DEMAND) {
+            lowStock.update(item);
+        }
+        InventoryEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(topicOf(change));
+        }
+    }
+    
+    private static InventoryEventBus.Topic topicOf(ItemChangeListener.Change change) {
+        switch (change) {
+            case DEMAND: return InventoryEventBus.Topic.DEMAND_CHANGED;
+            case REORDER_LEVEL: return InventoryEventBus.Topic.REORDER_LEVEL_CHANGED;
+            default: return InventoryEventBus.Topic.STOCK_CHANGED;
+        }
+    }
+    
+    /**
+     * Number of items with currentStock <= reorderLevel; O(1) in the catalog size.
+     */
+    public int getLowStockCount() {
+        return lowStock.count();
+    }
+    
+    /**
+     * Items with currentStock <= reorderLevel in store order; O(k log k) in the
+     * number of such items.
+     */
+    public List<Item> getLowStockItems() {
+        int[] slots = lowStock.slots();
+        Item[] items = new Item[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            items[i] = getItemAt(slots[i]);
+        }
+        return Arrays.asList(items);
+    }
+    
+    /**
+     * Counter advanced by every change that can alter a replenishment decision.
+     * Equal epochs mean equal inputs.
+     */
+    public long getEpoch() {
+        return epoch.sum();
+    }
+    
+    /**
+     * Items whose lowercased name or ID contains query, as a cursor in store
+     * order. Never waits for the index: until it is built the cursor is
+     * pending and empty, and the first search starts the build in the
+     * background. Once built it is extended as items are added.
+     */
+    public ItemSearchIndex.Cursor search(String query) {
+        return searchIndex().search(query);
+    }
+    
+    /**
+     * Builds the search index on the calling thread, e.g. a background thread
+     * at startup, so searches are answered from the first keystroke.
+     */
+    public void buildSearchIndex() {
+        searchIndex().catchUp();
+    }
+    
+    private ItemSearchIndex searchIndex() {
+        ItemSearchIndex index = searchIndex;
+        if (index == null) {
+            synchronized (lock) {
+                index = searchIndex;
+                if (index == null) {
+                    index = new ItemSearchIndex(this);
+                    searchIndex = index;
+                }
+            }
+        }
+        return index;
     }
     
     public Optional<Item> getItemByID(int itemID) {
@@ -34,9 +412,6 @@ public class InventoryStore {
     }
     
     public int getItemCount() {
-        return inventory.size();
+        return size;
     }
 }
-
-
-
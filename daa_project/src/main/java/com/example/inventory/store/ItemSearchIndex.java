@@ -0,0 +1,273 @@
+package com.example.inventory.store;
+
+import com.example.inventory.model.Item;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * N-gram index over item names and IDs for substring search.
+ *
+ * Matches the same items as name.toLowerCase().contains(query) ||
+ * String.valueOf(id).contains(query). Every character, pair and trigram of
+ * the lowercased name and of the ID digits maps to a posting list of store
+ * slots; since items are only appended, lists are built in ascending slot
+ * order. A one- or two-character query reads the list of that exact gram; a
+ * longer one intersects the lists of its trigrams, starting from the shortest,
+ * and checks the survivors against the text. Either way results come from a
+ * Cursor in slot order, a page at a time, so the first page of a broad query
+ * costs as little as a narrow one.
+ *
+ * The initial build runs in chunks on a background thread and never holds up a
+ * search: until it completes, search returns a pending, empty cursor, and the
+ * caller asks again later. Once built, additions are indexed by the store as
+ * they happen; cursors read a consistent prefix of each posting list and may
+ * run concurrently with additions.
+ */
+public final class ItemSearchIndex {
+    private static final int BUILD_CHUNK = 4096; // slots indexed per hold of the monitor
+    
+    private final InventoryStore store;
+    private final IntIntMap listByChar = new IntIntMap(1 << 8);
+    private final IntIntMap listByPair = new IntIntMap(1 << 10);
+    private final IntIntMap listByTrigram = new IntIntMap(1 << 12);
+    private int[][] postings = new int[256][];
+    private int[] postingSizes = new int[256];
+    private int lists;
+    private volatile int indexedSlots; // slots [0, indexedSlots) are in the index
+    private volatile boolean built;    // initial build done; additions are indexed as made
+    private final AtomicBoolean building = new AtomicBoolean();
+    
+    ItemSearchIndex(InventoryStore store) {
+        this.store = store;
+    }
+    
+    /**
+     * Indexes slots up to the store's current size, a chunk at a time so
+     * searches can run in between.
+     */
+    void catchUp() {
+        while (true) {
+            synchronized (this) {
+                int size = store.getItemCount();
+                if (indexedSlots >= size) {
+                    if (built) return;
+                    // Additions made before this see built == false and skip
+                    // their catch-up, so look at the size once more
+                    built = true;
+                    continue;
+                }
+                int end = Math.min(size, indexedSlots + BUILD_CHUNK);
+                for (int slot = indexedSlots; slot < end; slot++) {
+                    Item item = store.getItemAt(slot);
+                    String name = item.getName() == null ? "" : item.getName();
+                    addGrams(name.toLowerCase(), slot);
+                    addGrams(Integer.toString(item.getItemID()), slot);
+                }
+                indexedSlots = end;
+            }
+        }
+    }
+    
+    /**
+     * Called by the store after each addition. Before the initial build is
+     * done the build picks the item up instead.
+     */
+    void itemAdded() {
+        if (built) {
+            catchUp();
+        }
+    }
+    
+    /**
+     * Starts the initial build on a background thread unless it is done or running.
+     */
+    void startBuild() {
+        if (built || !building.compareAndSet(false, true)) return;
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                catchUp();
+            } finally {
+                building.set(false);
+            }
+        });
+    }
+    
+    boolean isBuilt() {
+        return built;
+    }
+    
+    private void addGrams(String text, int slot) {
+        for (int i = 0; i < text.length(); i++) {
+            addSlot(listByChar, text.charAt(i), slot);
+            if (i + 2 <= text.length()) addSlot(listByPair, pair(text, i), slot);
+            if (i + 3 <= text.length()) addSlot(listByTrigram, trigram(text, i), slot);
+        }
+    }
+    
+    private void addSlot(IntIntMap listByGram, int key, int slot) {
+        int list = listByGram.get(key);
+        if (list < 0) {
+            list = newList();
+            listByGram.put(key, list);
+        }
+        int size = postingSizes[list];
+        int[] posting = postings[list];
+        if (size > 0 && posting[size - 1] == slot) return; // repeated in this item
+        if (size == posting.length) {
+            // Copy, not grow in place: open cursors keep reading the old array
+            posting = Arrays.copyOf(posting, size * 2);
+            postings[list] = posting;
+        }
+        posting[size] = slot;
+        postingSizes[list] = size + 1;
+    }
+    
+    private int newList() {
+        if (lists == postings.length) {
+            postings = Arrays.copyOf(postings, lists * 2);
+            postingSizes = Arrays.copyOf(postingSizes, lists * 2);
+        }
+        postings[lists] = new int[4];
+        return lists++;
+    }
+    
+    /**
+     * Two chars packed exactly.
+     */
+    private static int pair(CharSequence text, int i) {
+        return (text.charAt(i) << 16) | text.charAt(i + 1);
+    }
+    
+    /**
+     * Three chars packed into 30 bits when each fits in 10 bits, otherwise
+     * hashed into the upper range. Collisions only add candidates, which the
+     * final text check removes.
+     */
+    private static int trigram(CharSequence text, int i) {
+        char a = text.charAt(i), b = text.charAt(i + 1), c = text.charAt(i + 2);
+        if ((a | b | c) < 1024) {
+            return (a << 20) | (b << 10) | c;
+        }
+        int h = (a * 31 + b) * 31 + c;
+        return (h * 0x9E3779B9) | (1 << 30);
+    }
+    
+    /**
+     * Cursor over the slots matching query (case-insensitive for names), or a
+     * pending cursor if the initial build has not finished; that starts the
+     * build if nothing else has.
+     */
+    public Cursor search(String query) {
+        if (query.isEmpty()) throw new IllegalArgumentException("query must not be empty");
+        if (!built) {
+            startBuild();
+            return new Cursor(null, new int[0][], new int[0], true);
+        }
+        String needle = query.toLowerCase();
+        synchronized (this) {
+            if (needle.length() < 3) {
+                IntIntMap listByGram = needle.length() == 1 ? listByChar : listByPair;
+                int list = listByGram.get(needle.length() == 1 ? needle.charAt(0) : pair(needle, 0));
+                if (list < 0) {
+                    return new Cursor(needle, new int[0][], new int[0], false); // no item has this gram
+                }
+                return new Cursor(needle, new int[][] {postings[list]}, new int[] {postingSizes[list]}, false);
+            }
+            int count = needle.length() - 2;
+            int[][] lists = new int[count][];
+            int[] sizes = new int[count];
+            for (int i = 0; i < count; i++) {
+                int list = listByTrigram.get(trigram(needle, i));
+                if (list < 0) {
+                    return new Cursor(needle, new int[0][], new int[0], false); // no item has this trigram
+                }
+                lists[i] = postings[list];
+                sizes[i] = postingSizes[list];
+            }
+            // Drive the intersection with the shortest list
+            for (int i = 1; i < count; i++) {
+                if (sizes[i] < sizes[0]) {
+                    int[] list = lists[0]; lists[0] = lists[i]; lists[i] = list;
+                    int size = sizes[0]; sizes[0] = sizes[i]; sizes[i] = size;
+                }
+            }
+            return new Cursor(needle, lists, sizes, false);
+        }
+    }
+    
+    /**
+     * Matching slots in ascending order, produced on demand.
+     */
+    public final class Cursor {
+        private final String needle;
+        private final int[][] lists;
+        private final int[] sizes;
+        private final int[] positions;
+        private final boolean pending;
+        private int next;              // next index into lists[0]
+        
+        private Cursor(String needle, int[][] lists, int[] sizes, boolean pending) {
+            this.needle = needle;
+            this.lists = lists;
+            this.sizes = sizes;
+            this.positions = new int[lists.length];
+            this.pending = pending;
+        }
+        
+        /**
+         * True if the index was still being built: the cursor is empty and the
+         * search should be repeated shortly.
+         */
+        public boolean isPending() {
+            return pending;
+        }
+        
+        public boolean hasMore() {
+            return lists.length > 0 && next < sizes[0];
+        }
+        
+        /**
+         * Fills out with up to out.length further matches; returns how many.
+         */
+        public int next(int[] out) {
+            int n = 0;
+            if (lists.length == 0) return 0;
+            while (n < out.length && next < sizes[0]) {
+                int slot = lists[0][next++];
+                if (inOtherLists(slot) && matches(slot)) out[n++] = slot;
+            }
+            return n;
+        }
+        
+        private boolean inOtherLists(int slot) {
+            for (int i = 1; i < lists.length; i++) {
+                int[] list = lists[i];
+                int p = positions[i];
+                while (p < sizes[i] && list[p] < slot) p++;
+                positions[i] = p;
+                if (p == sizes[i] || list[p] != slot) return false;
+            }
+            return true;
+        }
+        
+        private boolean matches(int slot) {
+            Item item = store.getItemAt(slot);
+            String name = item.getName();
+            return (name != null && containsIgnoreCase(name, needle))
+                    || Integer.toString(item.getItemID()).contains(needle);
+        }
+    }
+    
+    /**
+     * name.toLowerCase().contains(lowerNeedle) without allocating a lowered copy.
+     */
+    private static boolean containsIgnoreCase(String name, String lowerNeedle) {
+        int last = name.length() - lowerNeedle.length();
+        for (int i = 0; i <= last; i++) {
+            if (name.regionMatches(true, i, lowerNeedle, 0, lowerNeedle.length())) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.inventory.store;
+
+import com.example.inventory.model.Item;
+
+import java.util.Arrays;
+
+/**
+ * Slots of items with currentStock <= reorderLevel, striped by slot.
+ *
+ * Each stripe is a small set (members in any order plus each slot's position,
+ * with swap-remove) behind its own lock, so writers to different items only
+ * meet when their slots share a stripe. An item's state is read inside the
+ * stripe lock: every change is followed by an update, so the last update for
+ * an item always sees its latest state, whatever order updates run in.
+ */
+final class LowStockIndex {
+    private static final int STRIPE_SHIFT = 6;
+    private static final int STRIPES = 1 << STRIPE_SHIFT;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    LowStockIndex() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Re-evaluates one item's membership; the item must already have its slot.
+     */
+    void update(Item item) {
+        int slot = item.getSlot();
+        Stripe stripe = stripes[slot & (STRIPES - 1)];
+        synchronized (stripe) {
+            stripe.set(slot, item.getCurrentStock() <= item.getReorderLevel());
+        }
+    }
+
+    int count() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.count;
+        }
+        return count;
+    }
+
+    /**
+     * Flagged slots in ascending order.
+     */
+    int[] slots() {
+        int[] slots = new int[Math.max(16, count())];
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (count + stripe.count > slots.length) {
+                    slots = Arrays.copyOf(slots, Math.max(slots.length * 2, count + stripe.count));
+                }
+                System.arraycopy(stripe.members, 0, slots, count, stripe.count);
+                count += stripe.count;
+            }
+        }
+        slots = Arrays.copyOf(slots, count);
+        Arrays.sort(slots);
+        return slots;
+    }
+
+    private static final class Stripe {
+        int[] members = new int[16];
+        int[] position = new int[0]; // by slot >>> STRIPE_SHIFT; -1 = absent
+        volatile int count;
+
+        void set(int slot, boolean low) {
+            int local = slot >>> STRIPE_SHIFT;
+            if (local >= position.length) {
+                int oldLength = position.length;
+                position = Arrays.copyOf(position, Math.max(local + 1, oldLength * 2));
+                Arrays.fill(position, oldLength, position.length, -1);
+            }
+            int at = position[local];
+            if (low && at < 0) {
+                if (count == members.length) {
+                    members = Arrays.copyOf(members, count * 2);
+                }
+                members[count] = slot;
+                position[local] = count;
+                count = count + 1;
+            } else if (!low && at >= 0) {
+                // Swap-remove: move the last entry into the freed position
+                int last = members[count - 1];
+                members[at] = last;
+                position[last >>> STRIPE_SHIFT] = at;
+                position[local] = -1;
+                count = count - 1;
+            }
+        }
+    }
+}
@@ -2,7 +2,11 @@ package com.example.inventory.util;
 
 import com.example.inventory.core.InventoryManager;
 import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryStore;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,80 +26,64 @@ public class InventoryReports {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Generate low stock alerts from the store's low-stock index, without
+     * scanning the catalog
+     */
+    public static List<String> generateLowStockAlerts(InventoryStore store) {
+        return generateLowStockAlerts(store.getLowStockItems());
+    }
+    
     /**
      * Generate weekly report on stock movement
+     * All metrics come from one (parallel for large catalogs) pass; see ReportAccumulator.
+     * For very large outputs, ReportWriter streams the same text without building it.
      */
     public static String generateWeeklyReport(List<Item> inventory, 
                                               List<InventoryManager.ReplenishmentDecision> decisions) {
-        StringBuilder report = new StringBuilder();
-        report.append("=== WEEKLY INVENTORY REPORT ===\n\n");
-        
-        int totalItems = inventory.size();
-        int lowStockItems = (int) inventory.stream()
-            .filter(item -> item.getCurrentStock() <= item.getReorderLevel())
-            .count();
-        int itemsNeedingReorder = (int) decisions.stream()
-            .filter(d -> d.needsReorder)
-            .count();
-        
-        double totalHoldingCost = inventory.stream()
-            .mapToDouble(item -> item.getCurrentStock() * item.getUnitCost() * item.getHoldingCostRate() / 365.0)
-            .sum();
-        
-        int totalStockouts = (int) inventory.stream()
-            .filter(item -> item.getCurrentStock() == 0)
-            .count();
-        
-        report.append(String.format("Total Items: %d\n", totalItems));
-        report.append(String.format("Low Stock Items: %d\n", lowStockItems));
-        report.append(String.format("Items Needing Reorder: %d\n", itemsNeedingReorder));
-        report.append(String.format("Stockouts: %d\n", totalStockouts));
-        report.append(String.format("Estimated Daily Holding Cost: $%.2f\n\n", totalHoldingCost));
-        
-        report.append("Top 10 Items by Current Stock:\n");
-        inventory.stream()
-            .sorted((a, b) -> Integer.compare(b.getCurrentStock(), a.getCurrentStock()))
-            .limit(10)
-            .forEach(item -> report.append(String.format("  %s (ID=%d): %d units\n",
-                    item.getName(), item.getItemID(), item.getCurrentStock())));
-        
+        StringWriter report = new StringWriter();
+        try (ReportWriter writer = new ReportWriter(report)) {
+            writer.writeWeeklyReport(inventory, decisions);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter does not throw
+        }
         return report.toString();
     }
     
+    /**
+     * Generate weekly report from one point-in-time state of the store's items,
+     * even while other threads record sales (see InventoryStore.readConsistent)
+     */
+    public static String generateWeeklyReport(InventoryStore store,
+                                              List<InventoryManager.ReplenishmentDecision> decisions) {
+        return withConsistencyNote(store.readConsistent(inventory -> generateWeeklyReport(inventory, decisions)));
+    }
+    
     /**
      * Generate monthly report
      */
     public static String generateMonthlyReport(List<Item> inventory) {
-        StringBuilder report = new StringBuilder();
-        report.append("=== MONTHLY INVENTORY REPORT ===\n\n");
-        
-        double totalInventoryValue = inventory.stream()
-            .mapToDouble(item -> item.getCurrentStock() * item.getUnitCost())
-            .sum();
-        
-        double totalAnnualHoldingCost = inventory.stream()
-            .mapToDouble(item -> item.getCurrentStock() * item.getUnitCost() * item.getHoldingCostRate())
-            .sum();
-        
-        double avgDailyDemand = inventory.stream()
-            .mapToDouble(Item::getDailyDemand)
-            .average()
-            .orElse(0.0);
-        
-        report.append(String.format("Total Inventory Value: $%.2f\n", totalInventoryValue));
-        report.append(String.format("Annual Holding Cost: $%.2f\n", totalAnnualHoldingCost));
-        report.append(String.format("Average Daily Demand: %.2f units/item\n\n", avgDailyDemand));
-        
-        report.append("Items with Highest Demand:\n");
-        inventory.stream()
-            .sorted((a, b) -> Double.compare(b.getDailyDemand(), a.getDailyDemand()))
-            .limit(10)
-            .forEach(item -> report.append(String.format("  %s (ID=%d): %.2f units/day\n",
-                    item.getName(), item.getItemID(), item.getDailyDemand())));
-        
+        StringWriter report = new StringWriter();
+        try (ReportWriter writer = new ReportWriter(report)) {
+            writer.writeMonthlyReport(inventory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringWriter does not throw
+        }
         return report.toString();
     }
+    
+    /**
+     * Generate monthly report from one point-in-time state of the store's items
+     */
+    public static String generateMonthlyReport(InventoryStore store) {
+        return withConsistencyNote(store.readConsistent(InventoryReports::generateMonthlyReport));
+    }
+    
+    private static String withConsistencyNote(InventoryStore.Reading<String> report) {
+        if (report.consistent) {
+            return report.value;
+        }
+        return "Note: stock changed while this report was generated; "
+            + "figures may not all be from the same moment.\n\n" + report.value;
+    }
 }
-
-
-
@@ -0,0 +1,242 @@
+package com.example.inventory.util;
+
+import com.example.inventory.core.InventoryManager;
+import com.example.inventory.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * All weekly and monthly report metrics, gathered in one pass over the catalog.
+ *
+ * Accumulators for disjoint index ranges merge into the accumulator for their
+ * union, so large catalogs are split across the common pool. Sums are
+ * compensated, and ties in the top-N lists go to the lower index, so the
+ * result matches a sequential sorted() pass regardless of how work was split.
+ */
+final class ReportAccumulator {
+    static final int TOP_N = 10;
+    
+    private static final int PARALLEL_THRESHOLD = 10_000;
+    private static final int CHUNK_SIZE = 4_096;
+    
+    int totalItems;
+    int lowStockItems;
+    int stockouts;
+    int itemsNeedingReorder;
+    final CompensatedSum dailyHoldingCost = new CompensatedSum();
+    final CompensatedSum annualHoldingCost = new CompensatedSum();
+    final CompensatedSum inventoryValue = new CompensatedSum();
+    final CompensatedSum dailyDemand = new CompensatedSum();
+    final TopK topByStock = new TopK(TOP_N);
+    final TopK topByDemand = new TopK(TOP_N);
+    
+    /**
+     * Accumulates over all items, and over decisions when given (may be null).
+     */
+    static ReportAccumulator collect(List<Item> inventory,
+                                     List<InventoryManager.ReplenishmentDecision> decisions) {
+        List<InventoryManager.ReplenishmentDecision> d = decisions == null ? List.of() : decisions;
+        int n = Math.max(inventory.size(), d.size());
+        if (n < PARALLEL_THRESHOLD) {
+            return new ReportAccumulator().addRange(inventory, d, 0, n);
+        }
+        List<Item> items = inventory instanceof RandomAccess ? inventory : new ArrayList<>(inventory);
+        List<InventoryManager.ReplenishmentDecision> ds = d instanceof RandomAccess ? d : new ArrayList<>(d);
+        return ForkJoinPool.commonPool().invoke(new CollectTask(items, ds, 0, n));
+    }
+    
+    private ReportAccumulator addRange(List<Item> inventory,
+                                       List<InventoryManager.ReplenishmentDecision> decisions,
+                                       int from, int to) {
+        int itemsTo = Math.min(to, inventory.size());
+        for (int i = from; i < itemsTo; i++) {
+            add(i, inventory.get(i));
+        }
+        int decisionsTo = Math.min(to, decisions.size());
+        for (int i = from; i < decisionsTo; i++) {
+            if (decisions.get(i).needsReorder) itemsNeedingReorder++;
+        }
+        return this;
+    }
+    
+    private void add(int index, Item item) {
+        // Read each field once so all metrics see the same values for the item
+        int stock = item.getCurrentStock();
+        double demand = item.getDailyDemand();
+        double unitCost = item.getUnitCost();
+        double holdingRate = item.getHoldingCostRate();
+        
+        totalItems++;
+        if (stock <= item.getReorderLevel()) lowStockItems++;
+        if (stock == 0) stockouts++;
+        dailyHoldingCost.add(stock * unitCost * holdingRate / 365.0);
+        annualHoldingCost.add(stock * unitCost * holdingRate);
+        inventoryValue.add(stock * unitCost);
+        dailyDemand.add(demand);
+        topByStock.offer(index, stock);
+        topByDemand.offer(index, demand);
+    }
+    
+    private ReportAccumulator merge(ReportAccumulator other) {
+        totalItems += other.totalItems;
+        lowStockItems += other.lowStockItems;
+        stockouts += other.stockouts;
+        itemsNeedingReorder += other.itemsNeedingReorder;
+        dailyHoldingCost.merge(other.dailyHoldingCost);
+        annualHoldingCost.merge(other.annualHoldingCost);
+        inventoryValue.merge(other.inventoryValue);
+        dailyDemand.merge(other.dailyDemand);
+        topByStock.merge(other.topByStock);
+        topByDemand.merge(other.topByDemand);
+        return this;
+    }
+    
+    double averageDailyDemand() {
+        return totalItems == 0 ? 0.0 : dailyDemand.value() / totalItems;
+    }
+    
+    private static class CollectTask extends RecursiveTask<ReportAccumulator> {
+        private final List<Item> inventory;
+        private final List<InventoryManager.ReplenishmentDecision> decisions;
+        private final int from, to;
+        
+        CollectTask(List<Item> inventory, List<InventoryManager.ReplenishmentDecision> decisions, int from, int to) {
+            this.inventory = inventory;
+            this.decisions = decisions;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected ReportAccumulator compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return new ReportAccumulator().addRange(inventory, decisions, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            CollectTask right = new CollectTask(inventory, decisions, mid, to);
+            right.fork();
+            ReportAccumulator left = new CollectTask(inventory, decisions, from, mid).compute();
+            return left.merge(right.join());
+        }
+    }
+    
+    /**
+     * Neumaier-compensated sum, accurate to about one rounding of the total
+     * whatever the order of additions.
+     */
+    static final class CompensatedSum {
+        private double sum;
+        private double compensation;
+        
+        void add(double value) {
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+        
+        void merge(CompensatedSum other) {
+            add(other.sum);
+            add(other.compensation);
+        }
+        
+        double value() {
+            return sum + compensation;
+        }
+    }
+    
+    /**
+     * The n entries with the largest keys, as a min-heap of (key, index) whose
+     * root is the entry that would be evicted first. On equal keys the lower
+     * index ranks higher, matching a stable descending sort.
+     */
+    static final class TopK {
+        private final int limit;
+        private final int[] indexes;
+        private final double[] keys;
+        private int size;
+        
+        TopK(int limit) {
+            this.limit = limit;
+            this.indexes = new int[limit];
+            this.keys = new double[limit];
+        }
+        
+        void offer(int index, double key) {
+            if (size < limit) {
+                indexes[size] = index;
+                keys[size] = key;
+                siftUp(size++);
+            } else if (limit > 0 && ranksAbove(key, index, keys[0], indexes[0])) {
+                indexes[0] = index;
+                keys[0] = key;
+                siftDown(0);
+            }
+        }
+        
+        void merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.indexes[i], other.keys[i]);
+            }
+        }
+        
+        /**
+         * Indexes of the retained entries, highest ranked first.
+         */
+        int[] indexesDescending() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (a, b) ->
+                    ranksAbove(keys[a], indexes[a], keys[b], indexes[b]) ? -1 : 1);
+            int[] result = new int[size];
+            for (int i = 0; i < size; i++) result[i] = indexes[order[i]];
+            return result;
+        }
+        
+        private static boolean ranksAbove(double keyA, int indexA, double keyB, int indexB) {
+            int c = Double.compare(keyA, keyB);
+            return c > 0 || (c == 0 && indexA < indexB);
+        }
+        
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!ranksAbove(keys[parent], indexes[parent], keys[i], indexes[i])) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+        
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) break;
+                int lowest = left;
+                int right = left + 1;
+                if (right < size && ranksAbove(keys[left], indexes[left], keys[right], indexes[right])) {
+                    lowest = right;
+                }
+                if (!ranksAbove(keys[i], indexes[i], keys[lowest], indexes[lowest])) break;
+                swap(i, lowest);
+                i = lowest;
+            }
+        }
+        
+        private void swap(int a, int b) {
+            int index = indexes[a];
+            indexes[a] = indexes[b];
+            indexes[b] = index;
+            double key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+        }
+    }
+}
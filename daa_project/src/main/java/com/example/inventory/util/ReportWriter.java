@@ -0,0 +1,198 @@
+package com.example.inventory.util;
+
+import com.example.inventory.core.InventoryManager;
+import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryStore;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streams alerts and reports to a Writer through a fixed-size buffer.
+ *
+ * Produces the same text as InventoryReports, but numbers are formatted
+ * straight into the buffer instead of through String.format, and nothing is
+ * built per line, so memory stays flat however many lines are written.
+ * Decimals always use '.' as the separator.
+ */
+public class ReportWriter implements Closeable, Flushable {
+    private static final int BUFFER_SIZE = 8_192;
+    
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    
+    public ReportWriter(Writer out) {
+        this.out = out;
+    }
+    
+    public static ReportWriter forStream(OutputStream out) {
+        return new ReportWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+    
+    public static ReportWriter forChannel(WritableByteChannel channel) {
+        return new ReportWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Writes one line per low-stock item, in the format of
+     * InventoryReports.generateLowStockAlerts; returns the number of alerts.
+     */
+    public int writeLowStockAlerts(List<Item> inventory) throws IOException {
+        int alerts = 0;
+        for (Item item : inventory) {
+            int stock = item.getCurrentStock();
+            int reorderLevel = item.getReorderLevel();
+            if (stock <= reorderLevel) {
+                writeAlert(item, stock, reorderLevel);
+                alerts++;
+            }
+        }
+        return alerts;
+    }
+    
+    /**
+     * Same as writeLowStockAlerts(List), from the store's low-stock index.
+     */
+    public int writeLowStockAlerts(InventoryStore store) throws IOException {
+        return writeLowStockAlerts(store.getLowStockItems());
+    }
+    
+    private void writeAlert(Item item, int stock, int reorderLevel) throws IOException {
+        append("ALERT: ").append(item.getName()).append(" (ID=").append(item.getItemID())
+                .append(") is LOW - Stock=").append(stock)
+                .append(", ReorderLevel=").append(reorderLevel).append('\n');
+    }
+    
+    public void writeWeeklyReport(List<Item> inventory,
+                                  List<InventoryManager.ReplenishmentDecision> decisions) throws IOException {
+        ReportAccumulator acc = ReportAccumulator.collect(inventory, decisions);
+        append("=== WEEKLY INVENTORY REPORT ===\n\n");
+        append("Total Items: ").append(acc.totalItems).append('\n');
+        append("Low Stock Items: ").append(acc.lowStockItems).append('\n');
+        append("Items Needing Reorder: ").append(acc.itemsNeedingReorder).append('\n');
+        append("Stockouts: ").append(acc.stockouts).append('\n');
+        append("Estimated Daily Holding Cost: $").appendFixed2(acc.dailyHoldingCost.value()).append("\n\n");
+        
+        append("Top 10 Items by Current Stock:\n");
+        for (int index : acc.topByStock.indexesDescending()) {
+            Item item = inventory.get(index);
+            append("  ").append(item.getName()).append(" (ID=").append(item.getItemID())
+                    .append("): ").append(item.getCurrentStock()).append(" units\n");
+        }
+    }
+    
+    public void writeMonthlyReport(List<Item> inventory) throws IOException {
+        ReportAccumulator acc = ReportAccumulator.collect(inventory, null);
+        append("=== MONTHLY INVENTORY REPORT ===\n\n");
+        append("Total Inventory Value: $").appendFixed2(acc.inventoryValue.value()).append('\n');
+        append("Annual Holding Cost: $").appendFixed2(acc.annualHoldingCost.value()).append('\n');
+        append("Average Daily Demand: ").appendFixed2(acc.averageDailyDemand()).append(" units/item\n\n");
+        
+        append("Items with Highest Demand:\n");
+        for (int index : acc.topByDemand.indexesDescending()) {
+            Item item = inventory.get(index);
+            append("  ").append(item.getName()).append(" (ID=").append(item.getItemID())
+                    .append("): ").appendFixed2(item.getDailyDemand()).append(" units/day\n");
+        }
+    }
+    
+    public ReportWriter append(String s) throws IOException {
+        String text = s == null ? "null" : s;
+        int length = text.length();
+        if (length > buffer.length - position) {
+            flushBuffer();
+            if (length > buffer.length) {
+                out.write(text);
+                return this;
+            }
+        }
+        text.getChars(0, length, buffer, position);
+        position += length;
+        return this;
+    }
+    
+    public ReportWriter append(char c) throws IOException {
+        if (position == buffer.length) flushBuffer();
+        buffer[position++] = c;
+        return this;
+    }
+    
+    public ReportWriter append(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return append(Long.toString(value));
+        }
+        if (buffer.length - position < 20) flushBuffer();
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) digits++;
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+        return this;
+    }
+    
+    /**
+     * Appends value with two decimals, rounded half-up like "%.2f". Values
+     * too large or too close to a rounding tie for the fast path to be exact
+     * go through BigDecimal.
+     */
+    public ReportWriter appendFixed2(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return append(Double.toString(value));
+        }
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        double magnitude = Math.abs(value);
+        double scaled = magnitude * 100.0;
+        double fraction = scaled - Math.floor(scaled);
+        if (magnitude >= 1e9 || Math.abs(fraction - 0.5) < 1e-4) {
+            // Formatter rounds the shortest decimal representation, not the binary value
+            if (negative) append('-');
+            return append(BigDecimal.valueOf(magnitude).setScale(2, RoundingMode.HALF_UP).toPlainString());
+        }
+        long cents = (long) Math.floor(scaled + 0.5);
+        if (negative) append('-');
+        append(cents / 100).append('.');
+        long remainder = cents % 100;
+        append((char) ('0' + remainder / 10));
+        return append((char) ('0' + remainder % 10));
+    }
+    
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+    
+    /**
+     * Writes buffered text to the underlying Writer and flushes it.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+}
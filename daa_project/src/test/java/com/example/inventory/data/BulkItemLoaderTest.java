@@ -0,0 +1,138 @@
+package com.example.inventory.data;
+
+import com.example.inventory.model.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkItemLoaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void csvRoundTripKeepsQuotedNames() throws IOException {
+        List<Item> items = List.of(
+            item(1, "Plain"),
+            item(2, "Salt, Sea"),
+            item(3, "The \"Best\" Fudge"),
+            item(4, "\"Quoted\", twice \"\""),
+            item(5, "Cr\u00e8me br\u00fbl\u00e9e"));
+        Path path = dir.resolve("items.csv");
+
+        BulkItemLoader.writeCsv(path, items);
+
+        assertSameItems(items, BulkItemLoader.readCsv(path));
+    }
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        List<Item> items = ItemDataGenerator.generate(3, 10_000, 30, DemandDistribution.POISSON);
+        Path path = dir.resolve("items.bin");
+
+        BulkItemLoader.writeBinary(path, items);
+
+        assertSameItems(items, BulkItemLoader.readBinary(path));
+    }
+
+    @Test
+    void csvAcrossChunkBoundaries() throws IOException {
+        // Well over one 8 MB parse chunk, so lines straddle chunk ends
+        List<Item> items = ItemDataGenerator.generate(4, 100_000, 30, DemandDistribution.NORMAL);
+        Path path = dir.resolve("large.csv");
+
+        BulkItemLoader.writeCsv(path, items);
+        assertTrue(Files.size(path) > 8L * 1024 * 1024);
+
+        assertSameItems(items, BulkItemLoader.readCsv(path));
+    }
+
+    @Test
+    void csvAcceptsCrlfCommentsAndAHeader() throws IOException {
+        Path path = write("itemID,name,currentStock,dailyDemand,leadTime,reorderLevel,unitCost,orderingCost,holdingCostRate\r\n"
+            + "# comment\r\n"
+            + "1,\"A, \"\"quoted\"\" name\",10,2.5,3,8,1.25,20.0,0.2,4,5,6\r\n"
+            + "\r\n"
+            + "2,B,7,1.0,4,5,0.5,22.5,0.15\r\n");
+
+        List<Item> items = BulkItemLoader.readCsv(path);
+
+        assertEquals(2, items.size());
+        assertEquals("A, \"quoted\" name", items.get(0).getName());
+        assertEquals(0.2, items.get(0).getHoldingCostRate());
+        assertArrayEquals(new int[] {4, 5, 6}, items.get(0).getDailySalesHistory().toArray());
+        assertEquals("B", items.get(1).getName());
+        assertEquals(0.15, items.get(1).getHoldingCostRate());
+    }
+
+    @Test
+    void csvRejectsALetterRowAfterTheFirstLine() throws IOException {
+        Path path = write("1,A,10,2.5,3,8,1.25,20.0,0.2\n"
+            + "x2,B,7,1.0,4,5,0.5,22.5,0.15\n");
+
+        assertThrows(IllegalArgumentException.class, () -> BulkItemLoader.readCsv(path));
+    }
+
+    @Test
+    void csvRejectsOutOfRangeIntegers() throws IOException {
+        Path id = write("3000000000,A,10,2.5,3,8,1.25,20.0,0.2\n");
+        Path sale = write("1,A,10,2.5,3,8,1.25,20.0,0.2,99999999999999999999\n");
+
+        assertThrows(IllegalArgumentException.class, () -> BulkItemLoader.readCsv(id));
+        assertThrows(IllegalArgumentException.class, () -> BulkItemLoader.readCsv(sale));
+    }
+
+    @Test
+    void csvAcceptsIntegerBounds() throws IOException {
+        Path path = write("-2147483648,A,2147483647,2.5,3,8,1.25,20.0,0.2\n");
+
+        Item item = BulkItemLoader.readCsv(path).get(0);
+
+        assertEquals(Integer.MIN_VALUE, item.getItemID());
+        assertEquals(Integer.MAX_VALUE, item.getCurrentStock());
+    }
+
+    private Path write(String csv) throws IOException {
+        Path path = Files.createTempFile(dir, "items", ".csv");
+        Files.writeString(path, csv, StandardCharsets.UTF_8);
+        return path;
+    }
+
+    private static Item item(int itemID, String name) {
+        return new Item(itemID, name, 10 * itemID, 2.5, 3, 8, 1.25, 20.0, 0.2, new int[] {itemID, 0, 7});
+    }
+
+    private static void assertSameItems(List<Item> expected, List<Item> actual) {
+        assertEquals(expected.size(), actual.size());
+        List<String> mismatches = new ArrayList<>();
+        for (int i = 0; i < expected.size(); i++) {
+            Item e = expected.get(i);
+            Item a = actual.get(i);
+            boolean same = e.getItemID() == a.getItemID()
+                && e.getName().equals(a.getName())
+                && e.getCurrentStock() == a.getCurrentStock()
+                && e.getDailyDemand() == a.getDailyDemand()
+                && e.getLeadTime() == a.getLeadTime()
+                && e.getReorderLevel() == a.getReorderLevel()
+                && e.getUnitCost() == a.getUnitCost()
+                && e.getOrderingCost() == a.getOrderingCost()
+                && e.getHoldingCostRate() == a.getHoldingCostRate()
+                && Arrays.equals(e.getDailySalesHistory().toArray(), a.getDailySalesHistory().toArray());
+            if (!same) {
+                mismatches.add(e + " != " + a);
+            }
+        }
+        assertEquals(List.of(), mismatches);
+    }
+}
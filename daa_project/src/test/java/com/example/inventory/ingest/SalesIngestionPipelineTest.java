@@ -0,0 +1,174 @@
+package com.example.inventory.ingest;
+
+import com.example.inventory.core.InventoryManager;
+import com.example.inventory.core.PolicyConfig;
+import com.example.inventory.model.Item;
+import com.example.inventory.store.InventoryJournal;
+import com.example.inventory.store.InventoryStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SalesIngestionPipelineTest {
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fullRingRejectsUntilTheConsumerReleasesSlots() throws Exception {
+        InventoryStore store = storeWithItems(1);
+        GatedManager manager = new GatedManager();
+        SalesIngestionPipeline pipeline =
+                new SalesIngestionPipeline(store, manager, 1, 4, 1, WaitStrategy.SLEEPING);
+        pipeline.start();
+
+        assertTrue(pipeline.offer(1, 1));
+        assertTrue(manager.entered.await(5, TimeUnit.SECONDS), "consumer holds the first slot");
+        assertTrue(pipeline.offer(1, 1));
+        assertTrue(pipeline.offer(1, 1));
+        assertTrue(pipeline.offer(1, 1));
+        assertFalse(pipeline.offer(1, 1), "four slots, all taken");
+        assertFalse(pipeline.publish(1, 1, 10, TimeUnit.MILLISECONDS));
+        assertEquals(2, pipeline.getRejectedCount());
+        assertEquals(4, pipeline.getBacklog());
+
+        manager.gate.countDown();
+        pipeline.close();
+
+        assertEquals(4, pipeline.getAppliedCount());
+        assertEquals(0, pipeline.getBacklog());
+        assertEquals(INITIAL_STOCK - 4, store.getItemByID(1).orElseThrow().getCurrentStock());
+    }
+
+    @Test
+    void closeDrainsEveryAcceptedSale() throws Exception {
+        int itemCount = 64;
+        InventoryStore store = storeWithItems(itemCount);
+        SalesIngestionPipeline pipeline = new SalesIngestionPipeline(store,
+                new InventoryManager(PolicyConfig.defaultConfig()), 4, 256, 32, WaitStrategy.YIELDING);
+        pipeline.start();
+
+        AtomicLong acceptedUnits = new AtomicLong();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            int seed = p;
+            Thread producer = new Thread(() -> {
+                // Keeps publishing until close() turns it away
+                for (int i = 0; ; i++) {
+                    int itemID = 1 + (seed * 31 + i) % itemCount;
+                    int quantity = 1 + i % 3;
+                    if (pipeline.publish(itemID, quantity, 1, TimeUnit.MILLISECONDS)) {
+                        acceptedUnits.addAndGet(quantity);
+                    } else if (i > 10_000) {
+                        return;
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        Thread.sleep(50);
+        pipeline.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        long soldUnits = 0;
+        for (Item item : store.getAllItems()) {
+            soldUnits += INITIAL_STOCK - item.getCurrentStock();
+        }
+        assertTrue(acceptedUnits.get() > 0);
+        assertEquals(acceptedUnits.get(), soldUnits, "every accepted sale is applied before close returns");
+        assertEquals(0, pipeline.getBacklog());
+        assertFalse(pipeline.offer(1, 1), "nothing is accepted after close");
+    }
+
+    @Test
+    void consumerSurvivesFailedSalesAndUnknownItems() throws Exception {
+        InventoryStore store = storeWithItems(2);
+        InventoryManager manager = new InventoryManager(PolicyConfig.defaultConfig());
+        InventoryJournal journal = InventoryJournal.open(dir.resolve("closed.journal"),
+                InventoryJournal.FsyncPolicy.PER_BATCH, 0);
+        journal.close(); // every journaled sale now fails
+        manager.setJournal(journal);
+        SalesIngestionPipeline pipeline =
+                new SalesIngestionPipeline(store, manager, 1, 16, 4, WaitStrategy.SLEEPING);
+        pipeline.start();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(pipeline.publish(1 + i % 2, 1, 1, TimeUnit.SECONDS));
+        }
+        assertTrue(pipeline.publish(99, 1, 1, TimeUnit.SECONDS));
+        waitForBacklog(pipeline);
+        manager.setJournal(null);
+        assertTrue(pipeline.publish(1, 5, 1, TimeUnit.SECONDS));
+        pipeline.close();
+
+        assertEquals(10, pipeline.getFailedCount());
+        assertEquals(1, pipeline.getUnknownItemCount());
+        assertEquals(1, pipeline.getAppliedCount(), "the consumer kept going after the failures");
+        assertEquals(INITIAL_STOCK - 5, store.getItemByID(1).orElseThrow().getCurrentStock());
+        assertEquals(INITIAL_STOCK, store.getItemByID(2).orElseThrow().getCurrentStock());
+    }
+
+    @Test
+    void closeIsIdempotent() {
+        SalesIngestionPipeline pipeline = new SalesIngestionPipeline(storeWithItems(1),
+                new InventoryManager(PolicyConfig.defaultConfig()), 2, 8, 4, WaitStrategy.BUSY_SPIN);
+        assertFalse(pipeline.offer(1, 1), "nothing is accepted before start");
+        pipeline.start();
+        pipeline.close();
+        pipeline.close();
+        assertEquals(1, pipeline.getRejectedCount());
+    }
+
+    private static InventoryStore storeWithItems(int count) {
+        InventoryStore store = new InventoryStore();
+        for (int id = 1; id <= count; id++) {
+            store.addItem(new Item(id, "Item " + id, INITIAL_STOCK, 5.0, 3, 20, 1.0, 25.0, 0.2));
+        }
+        return store;
+    }
+
+    private static void waitForBacklog(SalesIngestionPipeline pipeline) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pipeline.getBacklog() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, pipeline.getBacklog());
+    }
+
+    /**
+     * Holds the consumer inside its first batch until the gate opens.
+     */
+    private static final class GatedManager extends InventoryManager {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        GatedManager() {
+            super(PolicyConfig.defaultConfig());
+        }
+
+        @Override
+        public int recordDailySales(Item[] items, int[] quantities, int count) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.recordDailySales(items, quantities, count);
+        }
+    }
+}
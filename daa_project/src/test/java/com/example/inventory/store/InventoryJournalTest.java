@@ -0,0 +1,174 @@
+package com.example.inventory.store;
+
+import com.example.inventory.core.InventoryManager;
+import com.example.inventory.core.PolicyConfig;
+import com.example.inventory.data.DemandDistribution;
+import com.example.inventory.data.ItemDataGenerator;
+import com.example.inventory.model.Item;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryJournalTest {
+    private static final long HEADER_SIZE = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayRebuildsTheJournaledState() throws IOException {
+        Path path = dir.resolve("inventory.journal");
+        InventoryStore store = new InventoryStore();
+        InventoryManager manager = new InventoryManager(PolicyConfig.defaultConfig());
+        try (InventoryJournal journal = InventoryJournal.open(path, InventoryJournal.FsyncPolicy.EVERY_WRITE, 0)) {
+            store.setJournal(journal);
+            manager.setJournal(journal);
+            store.addItems(ItemDataGenerator.generate(1, 200, 30, DemandDistribution.POISSON));
+            List<Item> items = store.getAllItems();
+            for (int day = 0; day < 40; day++) {
+                for (Item item : items) {
+                    manager.recordDailySales(item, (item.getItemID() + day) % 7);
+                }
+            }
+            for (Item item : items) {
+                manager.receiveStock(item, item.getItemID() % 11);
+            }
+            manager.processDailyUpdate(items); // journals the recomputed reorder levels
+        }
+
+        InventoryStore replayed = new InventoryStore();
+        InventoryJournal.replay(path, replayed);
+
+        assertSameState(store, replayed);
+    }
+
+    @Test
+    void tornLastFrameIsTruncatedNotRejected() throws IOException {
+        Path path = dir.resolve("torn.journal");
+        long firstFrameEnd;
+        try (InventoryJournal journal = InventoryJournal.open(path, InventoryJournal.FsyncPolicy.PER_BATCH, 0)) {
+            journal.itemAdded(item(1));
+            journal.sale(1, 5);
+            journal.commit();
+            firstFrameEnd = Files.size(path);
+            journal.sale(1, 3);
+            journal.sale(1, 4);
+            journal.commit();
+        }
+        // A crash part-way through writing the second frame
+        truncate(path, Files.size(path) - 5);
+
+        InventoryStore replayed = new InventoryStore();
+        assertEquals(2, InventoryJournal.replay(path, replayed));
+        assertEquals(95, replayed.getItemByID(1).orElseThrow().getCurrentStock());
+
+        // Reopening drops the torn tail so new records follow the last good frame
+        try (InventoryJournal journal = InventoryJournal.open(path, InventoryJournal.FsyncPolicy.PER_BATCH, 0)) {
+            assertEquals(firstFrameEnd, Files.size(path));
+            journal.sale(1, 10);
+            journal.commit();
+        }
+        replayed = new InventoryStore();
+        assertEquals(3, InventoryJournal.replay(path, replayed));
+        assertEquals(85, replayed.getItemByID(1).orElseThrow().getCurrentStock());
+    }
+
+    @Test
+    void corruptLastFrameEndsReplayAtTheLastGoodFrame() throws IOException {
+        Path path = dir.resolve("corrupt.journal");
+        try (InventoryJournal journal = InventoryJournal.open(path, InventoryJournal.FsyncPolicy.PER_BATCH, 0)) {
+            journal.itemAdded(item(1));
+            journal.commit();
+            journal.sale(1, 5);
+            journal.commit();
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 0x40; // flips a bit of the last sale's quantity
+        Files.write(path, bytes);
+
+        InventoryStore replayed = new InventoryStore();
+        assertEquals(1, InventoryJournal.replay(path, replayed));
+        assertEquals(100, replayed.getItemByID(1).orElseThrow().getCurrentStock());
+    }
+
+    @Test
+    void everyWriteRecordIsOnFileWhenAwaitDurableReturns() throws IOException {
+        Path path = dir.resolve("every-write.journal");
+        try (InventoryJournal journal = InventoryJournal.open(path, InventoryJournal.FsyncPolicy.EVERY_WRITE, 0)) {
+            journal.itemAdded(item(1));
+            journal.awaitDurable(journal.sale(1, 5));
+
+            assertEquals(2, InventoryJournal.replay(path, new InventoryStore()));
+        }
+    }
+
+    @Test
+    void perBatchWritesOnCommitOrWhenTheBufferFills() throws IOException {
+        Path path = dir.resolve("per-batch.journal");
+        try (InventoryJournal journal = InventoryJournal.open(path, InventoryJournal.FsyncPolicy.PER_BATCH, 0)) {
+            journal.itemAdded(item(1));
+            journal.awaitDurable(journal.sale(1, 1));
+            assertEquals(HEADER_SIZE, Files.size(path), "a partial batch waits for commit()");
+
+            journal.commit();
+            assertEquals(2, InventoryJournal.replay(path, new InventoryStore()));
+
+            // Enough sales to overflow the 256 KB buffer once
+            long sequence = 0;
+            for (int i = 0; i < 30_000; i++) {
+                sequence = journal.sale(1, 0);
+            }
+            journal.awaitDurable(sequence);
+            long replayed = InventoryJournal.replay(path, new InventoryStore());
+            assertTrue(replayed > 2 && replayed < 30_002, "full frames are written, the rest stays buffered: " + replayed);
+        }
+        assertEquals(30_002, InventoryJournal.replay(path, new InventoryStore()));
+    }
+
+    @Test
+    void intervalWritesInTheBackground() throws Exception {
+        Path path = dir.resolve("interval.journal");
+        try (InventoryJournal journal = InventoryJournal.open(path, InventoryJournal.FsyncPolicy.INTERVAL, 10)) {
+            journal.itemAdded(item(1));
+            journal.awaitDurable(journal.sale(1, 5)); // returns at once; the sync thread writes
+
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (InventoryJournal.replay(path, new InventoryStore()) < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, InventoryJournal.replay(path, new InventoryStore()));
+        }
+    }
+
+    private static Item item(int itemID) {
+        return new Item(itemID, "Item " + itemID, 100, 5.0, 3, 20, 1.0, 25.0, 0.2);
+    }
+
+    private static void truncate(Path path, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+
+    private static void assertSameState(InventoryStore expected, InventoryStore actual) {
+        assertEquals(expected.getItemCount(), actual.getItemCount());
+        for (Item item : expected.getAllItems()) {
+            Item copy = actual.getItemByID(item.getItemID()).orElseThrow();
+            assertEquals(item.getName(), copy.getName());
+            assertEquals(item.getCurrentStock(), copy.getCurrentStock());
+            assertEquals(item.getReorderLevel(), copy.getReorderLevel());
+            assertEquals(item.getDailyDemand(), copy.getDailyDemand());
+            assertArrayEquals(item.getDailySalesHistory().toArray(), copy.getDailySalesHistory().toArray());
+        }
+    }
+}